@@ -0,0 +1,28 @@
+package dev.markconley.chess.benchmark;
+
+import dev.markconley.chess.engine.state.BoardState;
+import dev.markconley.chess.engine.state.FenParser;
+
+/**
+ * Fixed positions shared by every benchmark, all with white to move, so that numbers stay
+ * comparable from one run to the next.
+ */
+public enum BenchmarkPosition {
+
+	// @formatter:off
+	OPENING("r1bqkbnr/pppp1ppp/2n5/4p3/4P3/5N2/PPPP1PPP/RNBQKB1R w KQkq - 2 3"),
+	MIDDLEGAME("r4rk1/1pp1qppp/p1np1n2/2b1p1B1/2B1P1b1/P1NP1N2/1PP1QPPP/R4RK1 w - - 0 10"),
+	ENDGAME("4k3/1p3pp1/2n1b2p/p2r4/P2R4/2N1B2P/1P3PP1/4K3 w - - 0 30");
+	// @formatter:on
+
+	private final String fen;
+
+	BenchmarkPosition(String fen) {
+		this.fen = fen;
+	}
+
+	public BoardState state() {
+		return FenParser.parse(fen);
+	}
+
+}
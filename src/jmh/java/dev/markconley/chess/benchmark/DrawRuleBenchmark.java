@@ -0,0 +1,72 @@
+package dev.markconley.chess.benchmark;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import dev.markconley.chess.engine.move.LegalMoveGenerator;
+import dev.markconley.chess.engine.move.Move;
+import dev.markconley.chess.engine.move.MoveExecutor;
+import dev.markconley.chess.engine.rules.draw.DrawRuleEngine;
+import dev.markconley.chess.engine.state.BoardState;
+import dev.markconley.chess.game.GameStatus;
+import dev.markconley.chess.game.HistoryTracker;
+
+/**
+ * {@link DrawRuleEngine#checkDraw} after a game history of the given length, played from the
+ * position with a fixed seed.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DrawRuleBenchmark {
+
+	@Param
+	public BenchmarkPosition position;
+
+	@Param({ "20", "100", "300" })
+	public int plies;
+
+	private final DrawRuleEngine drawRuleEngine = new DrawRuleEngine();
+	private BoardState state;
+	private HistoryTracker history;
+
+	@Setup
+	public void setUp() {
+		state = position.state();
+		history = new HistoryTracker();
+		history.start(state);
+		MoveExecutor executor = new MoveExecutor();
+		Random random = new Random(42);
+		for (int ply = 0; ply < plies; ply++) {
+			List<Move> moves = LegalMoveGenerator.generateLegalMoves(state, state.getCurrentTurn());
+			if (moves.isEmpty()) {
+				break;
+			}
+			Move move = moves.get(random.nextInt(moves.size()));
+			executor.makeMove(state, move);
+			history.record(state, move);
+		}
+	}
+
+	@Benchmark
+	public GameStatus checkDraw() {
+		return drawRuleEngine.checkDraw(state, history);
+	}
+
+}
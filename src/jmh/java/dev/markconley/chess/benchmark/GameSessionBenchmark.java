@@ -0,0 +1,80 @@
+package dev.markconley.chess.benchmark;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import dev.markconley.chess.engine.board.Board;
+import dev.markconley.chess.engine.core.Color;
+import dev.markconley.chess.engine.move.Move;
+import dev.markconley.chess.engine.move.MoveExecutor;
+import dev.markconley.chess.engine.rules.draw.DrawRuleEngine;
+import dev.markconley.chess.engine.state.BoardState;
+import dev.markconley.chess.game.GameResultEvaluator;
+import dev.markconley.chess.game.GameSession;
+import dev.markconley.chess.game.GameStatus;
+import dev.markconley.chess.game.HistoryTracker;
+import dev.markconley.chess.game.MoveInputHandler;
+import dev.markconley.chess.io.InputProvider;
+import dev.markconley.chess.io.OutputHandler;
+
+/**
+ * One full {@link GameSession#playTurn} on a fresh session: legal move generation, input
+ * handling, make move, history recording and result evaluation. The input always plays the first
+ * legal move and the output discards everything.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GameSessionBenchmark {
+
+	private static final InputProvider FIRST_MOVE = legalMoves -> Optional.of(legalMoves.get(0));
+
+	private static final OutputHandler SILENT = new OutputHandler() {
+		@Override
+		public void displayBoard(Board board) { }
+
+		@Override
+		public void promptMove(Color player, List<Move> moves) { }
+
+		@Override
+		public void displayResult(GameStatus result) { }
+
+		@Override
+		public void displayMessage(String message) { }
+	};
+
+	@Param
+	public BenchmarkPosition position;
+
+	private GameSession session;
+
+	@Setup(Level.Invocation)
+	public void setUp() {
+		BoardState state = position.state();
+		session = new GameSession(state.getBoard(), state, new MoveInputHandler(),
+				new GameResultEvaluator(new DrawRuleEngine()), new HistoryTracker(), new MoveExecutor());
+	}
+
+	@Benchmark
+	public GameStatus playTurn() {
+		return session.playTurn(FIRST_MOVE, SILENT);
+	}
+
+}
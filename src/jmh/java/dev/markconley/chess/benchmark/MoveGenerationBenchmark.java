@@ -0,0 +1,63 @@
+package dev.markconley.chess.benchmark;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import dev.markconley.chess.engine.core.Color;
+import dev.markconley.chess.engine.move.LegalMoveGenerator;
+import dev.markconley.chess.engine.move.Move;
+import dev.markconley.chess.engine.move.MoveGenerator;
+import dev.markconley.chess.engine.move.MoveList;
+import dev.markconley.chess.engine.state.BoardState;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MoveGenerationBenchmark {
+
+	@Param
+	public BenchmarkPosition position;
+
+	private BoardState state;
+	private final MoveList moves = new MoveList();
+
+	@Setup
+	public void setUp() {
+		state = position.state();
+	}
+
+	@Benchmark
+	public int pseudoLegalPacked() {
+		moves.clear();
+		MoveGenerator.generateMoves(state, Color.WHITE, moves);
+		return moves.size();
+	}
+
+	@Benchmark
+	public int legalPacked() {
+		moves.clear();
+		LegalMoveGenerator.generateLegalMoves(state, Color.WHITE, moves);
+		return moves.size();
+	}
+
+	@Benchmark
+	public List<Move> legalMoveObjects() {
+		return LegalMoveGenerator.generateLegalMoves(state, Color.WHITE);
+	}
+
+}
@@ -0,0 +1,65 @@
+package dev.markconley.chess.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import dev.markconley.chess.engine.bitboard.Bitboard;
+import dev.markconley.chess.engine.core.Color;
+import dev.markconley.chess.engine.core.Position;
+import dev.markconley.chess.engine.move.MoveGenerator;
+import dev.markconley.chess.engine.pieces.Piece;
+import dev.markconley.chess.engine.pieces.PieceType;
+import dev.markconley.chess.engine.state.BoardState;
+
+/**
+ * {@link MoveGenerator#generateMoves(BoardState, Piece, Position)} for every white piece of one type.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PieceMoveGenerationBenchmark {
+
+	@Param
+	public BenchmarkPosition position;
+
+	@Param
+	public PieceType pieceType;
+
+	private BoardState state;
+	private Piece piece;
+	private Position[] squares;
+
+	@Setup
+	public void setUp() {
+		state = position.state();
+		piece = Piece.of(Color.WHITE, pieceType);
+		long bb = state.getBoard().getBitboards().pieces(Color.WHITE, pieceType);
+		squares = new Position[Bitboard.count(bb)];
+		for (int i = 0; bb != 0; i++, bb = Bitboard.popLsb(bb)) {
+			squares[i] = Position.of(Bitboard.lsb(bb));
+		}
+	}
+
+	@Benchmark
+	public void generateMoves(Blackhole blackhole) {
+		for (Position from : squares) {
+			blackhole.consume(MoveGenerator.generateMoves(state, piece, from));
+		}
+	}
+
+}
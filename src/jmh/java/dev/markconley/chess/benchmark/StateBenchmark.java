@@ -0,0 +1,55 @@
+package dev.markconley.chess.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import dev.markconley.chess.engine.core.Color;
+import dev.markconley.chess.engine.state.BoardState;
+import dev.markconley.chess.engine.state.GameStateEvaluator;
+import dev.markconley.chess.game.GameStatus;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StateBenchmark {
+
+	@Param
+	public BenchmarkPosition position;
+
+	private BoardState state;
+
+	@Setup
+	public void setUp() {
+		state = position.state();
+	}
+
+	@Benchmark
+	public boolean isInCheck() {
+		return GameStateEvaluator.isInCheck(state, Color.WHITE);
+	}
+
+	@Benchmark
+	public GameStatus evaluate() {
+		return GameStateEvaluator.evaluate(state, Color.WHITE);
+	}
+
+	@Benchmark
+	public BoardState copy() {
+		return state.copy();
+	}
+
+}
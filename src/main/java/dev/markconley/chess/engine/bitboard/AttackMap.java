@@ -0,0 +1,115 @@
+package dev.markconley.chess.engine.bitboard;
+
+import dev.markconley.chess.engine.core.Color;
+import dev.markconley.chess.engine.pieces.PieceType;
+
+/**
+ * Attack tables for one position, kept up to date as pieces are added and removed: for every
+ * square the set of squares its piece attacks and the set of squares whose pieces attack it.
+ * A placement change only recomputes the changed piece and the sliders whose rays run through
+ * its square, so {@link #isAttacked(int, Color)}, {@link #attackersTo(int)} and
+ * {@link #attackCount(int, Color)} are table reads.
+ *
+ * <p>Maintaining the tables costs more than a magic-bitboard lookup per query, so the search and
+ * perft, which query far less often than they move, leave them off. Not thread safe.
+ */
+public final class AttackMap implements PlacementListener {
+
+	private static final PieceType[] TYPES = PieceType.values();
+
+	private final BitboardPosition bitboards;
+	private final long[] attacksFrom = new long[64];
+	private final long[] attackersTo = new long[64];
+
+	/**
+	 * Builds the tables for the position and attaches to it.
+	 */
+	public AttackMap(BitboardPosition bitboards) {
+		this.bitboards = bitboards;
+		bitboards.addListener(this);
+		placementReset();
+	}
+
+	/**
+	 * Stops following the position.
+	 */
+	public void detach() {
+		bitboards.removeListener(this);
+	}
+
+	public boolean isAttacked(int square, Color attacker) {
+		return (attackersTo[square] & bitboards.occupancy(attacker)) != 0;
+	}
+
+	/**
+	 * Squares of the pieces of both colors that attack the square.
+	 */
+	public long attackersTo(int square) {
+		return attackersTo[square];
+	}
+
+	public int attackCount(int square, Color attacker) {
+		return Bitboard.count(attackersTo[square] & bitboards.occupancy(attacker));
+	}
+
+	/**
+	 * Squares attacked by the piece on the square; empty if there is none.
+	 */
+	public long attacksFrom(int square) {
+		return attacksFrom[square];
+	}
+
+	@Override
+	public void pieceAdded(int pieceIndex, int square) {
+		// Sliders that reached the square now stop there
+		refreshSliders(attackersTo[square]);
+		setAttacks(square, attacks(pieceIndex, square));
+	}
+
+	@Override
+	public void pieceRemoved(int pieceIndex, int square) {
+		setAttacks(square, 0L);
+		// Sliders that stopped on the square now see past it
+		refreshSliders(attackersTo[square]);
+	}
+
+	@Override
+	public void placementReset() {
+		for (int square = 0; square < 64; square++) {
+			attacksFrom[square] = 0L;
+			attackersTo[square] = 0L;
+		}
+		for (long occupied = bitboards.occupied(); occupied != 0; occupied = Bitboard.popLsb(occupied)) {
+			int square = Bitboard.lsb(occupied);
+			setAttacks(square, attacksOn(square));
+		}
+	}
+
+	private void refreshSliders(long attackers) {
+		long sliders = attackers & (bitboards.orthogonalSliders() | bitboards.diagonalSliders());
+		for (; sliders != 0; sliders = Bitboard.popLsb(sliders)) {
+			int square = Bitboard.lsb(sliders);
+			setAttacks(square, attacksOn(square));
+		}
+	}
+
+	private long attacksOn(int square) {
+		Color color = Bitboard.contains(bitboards.occupancy(Color.WHITE), square) ? Color.WHITE : Color.BLACK;
+		return bitboards.attacksFrom(bitboards.typeAt(color, square), color, square);
+	}
+
+	private long attacks(int pieceIndex, int square) {
+		Color color = pieceIndex < BitboardPosition.PIECE_TYPES ? Color.WHITE : Color.BLACK;
+		PieceType type = TYPES[pieceIndex % BitboardPosition.PIECE_TYPES];
+		return bitboards.attacksFrom(type, color, square);
+	}
+
+	private void setAttacks(int square, long attacks) {
+		long bit = Bitboard.bit(square);
+		for (long changed = attacksFrom[square] ^ attacks; changed != 0; changed = Bitboard.popLsb(changed)) {
+			attackersTo[Bitboard.lsb(changed)] ^= bit;
+		}
+		attacksFrom[square] = attacks;
+	}
+
+}
@@ -0,0 +1,168 @@
+package dev.markconley.chess.engine.bitboard;
+
+import dev.markconley.chess.engine.core.Color;
+import dev.markconley.chess.engine.pieces.Direction;
+import dev.markconley.chess.engine.pieces.PieceType;
+
+public final class AttackTables {
+
+	private static final long[] KNIGHT_ATTACKS = new long[64];
+	private static final long[] KING_ATTACKS = new long[64];
+	private static final long[][] PAWN_ATTACKS = new long[2][64];
+	private static final long[][] RAY_MASKS = new long[Direction.values().length][64];
+	private static final long[][] BETWEEN = new long[64][64];
+	private static final long[][] LINE = new long[64][64];
+
+	static {
+		for (int square = 0; square < 64; square++) {
+			KNIGHT_ATTACKS[square] = stepAttacks(square, Direction.KNIGHT_DIRECTIONS);
+			KING_ATTACKS[square] = stepAttacks(square, Direction.KING_DIRECTIONS);
+
+			long bit = Bitboard.bit(square);
+			PAWN_ATTACKS[Color.WHITE.ordinal()][square] = ((bit & ~Bitboard.FILE_A) << 7) | ((bit & ~Bitboard.FILE_H) << 9);
+			PAWN_ATTACKS[Color.BLACK.ordinal()][square] = ((bit & ~Bitboard.FILE_H) >>> 7) | ((bit & ~Bitboard.FILE_A) >>> 9);
+
+			for (Direction direction : Direction.values()) {
+				RAY_MASKS[direction.ordinal()][square] = computeRayMask(square, direction);
+			}
+		}
+		for (int square = 0; square < 64; square++) {
+			for (Direction direction : Direction.QUEEN_DIRECTIONS) {
+				computeLines(square, direction);
+			}
+		}
+	}
+
+	private AttackTables() { } // Utility class
+
+	public static long knightAttacks(int square) {
+		return KNIGHT_ATTACKS[square];
+	}
+
+	public static long kingAttacks(int square) {
+		return KING_ATTACKS[square];
+	}
+
+	public static long pawnAttacks(Color color, int square) {
+		return PAWN_ATTACKS[color.ordinal()][square];
+	}
+
+	public static long rookAttacks(int square, long occupied) {
+		return MagicBitboards.rookAttacks(square, occupied);
+	}
+
+	public static long bishopAttacks(int square, long occupied) {
+		return MagicBitboards.bishopAttacks(square, occupied);
+	}
+
+	public static long queenAttacks(int square, long occupied) {
+		return MagicBitboards.rookAttacks(square, occupied) | MagicBitboards.bishopAttacks(square, occupied);
+	}
+
+	public static long attacks(PieceType type, Color color, int square, long occupied) {
+		return switch (type) {
+		case PAWN -> pawnAttacks(color, square);
+		case KNIGHT -> knightAttacks(square);
+		case BISHOP -> bishopAttacks(square, occupied);
+		case ROOK -> rookAttacks(square, occupied);
+		case QUEEN -> queenAttacks(square, occupied);
+		case KING -> kingAttacks(square);
+		};
+	}
+
+	/**
+	 * Sliding attacks along an arbitrary set of directions: orthogonal directions use the rook
+	 * table, diagonal directions the bishop table. The standard rook, bishop and queen sets are
+	 * answered straight from the tables.
+	 */
+	public static long slidingAttacks(int square, long occupied, Direction[] directions) {
+		if (directions == Direction.ROOK_DIRECTIONS) {
+			return rookAttacks(square, occupied);
+		}
+		if (directions == Direction.BISHOP_DIRECTIONS) {
+			return bishopAttacks(square, occupied);
+		}
+		if (directions == Direction.QUEEN_DIRECTIONS) {
+			return queenAttacks(square, occupied);
+		}
+		long orthogonal = rookAttacks(square, occupied);
+		long diagonal = bishopAttacks(square, occupied);
+		long attacks = 0L;
+		for (Direction direction : directions) {
+			int dRow = direction.rowOffset();
+			int dCol = direction.colOffset();
+			if (dRow == 0 || dCol == 0) {
+				attacks |= orthogonal & RAY_MASKS[direction.ordinal()][square];
+			} else if (Math.abs(dRow) == Math.abs(dCol)) {
+				attacks |= diagonal & RAY_MASKS[direction.ordinal()][square];
+			}
+		}
+		return attacks;
+	}
+
+	public static long rayMask(Direction direction, int square) {
+		return RAY_MASKS[direction.ordinal()][square];
+	}
+
+	/**
+	 * Squares strictly between two squares on a shared rank, file or diagonal; empty otherwise.
+	 */
+	public static long between(int from, int to) {
+		return BETWEEN[from][to];
+	}
+
+	/**
+	 * The full rank, file or diagonal through both squares, or empty if they are not aligned.
+	 */
+	public static long line(int from, int to) {
+		return LINE[from][to];
+	}
+
+	private static void computeLines(int square, Direction direction) {
+		long line = Bitboard.bit(square) | RAY_MASKS[direction.ordinal()][square];
+		int row = Bitboard.row(square) - direction.rowOffset();
+		int col = Bitboard.col(square) - direction.colOffset();
+		while (row >= 0 && row < 8 && col >= 0 && col < 8) {
+			line |= Bitboard.bit(Bitboard.square(row, col));
+			row -= direction.rowOffset();
+			col -= direction.colOffset();
+		}
+
+		long between = 0L;
+		row = Bitboard.row(square) + direction.rowOffset();
+		col = Bitboard.col(square) + direction.colOffset();
+		while (row >= 0 && row < 8 && col >= 0 && col < 8) {
+			int target = Bitboard.square(row, col);
+			BETWEEN[square][target] = between;
+			LINE[square][target] = line;
+			between |= Bitboard.bit(target);
+			row += direction.rowOffset();
+			col += direction.colOffset();
+		}
+	}
+
+	private static long computeRayMask(int square, Direction direction) {
+		long mask = 0L;
+		int row = Bitboard.row(square) + direction.rowOffset();
+		int col = Bitboard.col(square) + direction.colOffset();
+		while (row >= 0 && row < 8 && col >= 0 && col < 8) {
+			mask |= Bitboard.bit(Bitboard.square(row, col));
+			row += direction.rowOffset();
+			col += direction.colOffset();
+		}
+		return mask;
+	}
+
+	private static long stepAttacks(int square, Direction[] directions) {
+		long attacks = 0L;
+		for (Direction direction : directions) {
+			int row = Bitboard.row(square) + direction.rowOffset();
+			int col = Bitboard.col(square) + direction.colOffset();
+			if (row >= 0 && row < 8 && col >= 0 && col < 8) {
+				attacks |= Bitboard.bit(Bitboard.square(row, col));
+			}
+		}
+		return attacks;
+	}
+
+}
@@ -0,0 +1,65 @@
+package dev.markconley.chess.engine.bitboard;
+
+import dev.markconley.chess.engine.core.Position;
+
+/**
+ * Square and mask helpers for 64-bit boards. Square indices run a1 = 0, b1 = 1 ... h8 = 63,
+ * so {@code square = row * 8 + col} for a {@link Position}.
+ */
+public final class Bitboard {
+
+	public static final long EMPTY = 0L;
+
+	public static final long FILE_A = 0x0101010101010101L;
+	public static final long FILE_H = FILE_A << 7;
+
+	public static final long RANK_1 = 0xFFL;
+	public static final long RANK_2 = RANK_1 << 8;
+	public static final long RANK_4 = RANK_1 << 24;
+	public static final long RANK_5 = RANK_1 << 32;
+	public static final long RANK_7 = RANK_1 << 48;
+	public static final long RANK_8 = RANK_1 << 56;
+
+	private Bitboard() { } // Utility class
+
+	public static int square(int row, int col) {
+		return row * 8 + col;
+	}
+
+	public static int square(Position position) {
+		return position.getSquare();
+	}
+
+	public static int row(int square) {
+		return square >>> 3;
+	}
+
+	public static int col(int square) {
+		return square & 7;
+	}
+
+	public static Position toPosition(int square) {
+		return Position.of(square);
+	}
+
+	public static long bit(int square) {
+		return 1L << square;
+	}
+
+	public static boolean contains(long bitboard, int square) {
+		return (bitboard & (1L << square)) != 0;
+	}
+
+	public static int lsb(long bitboard) {
+		return Long.numberOfTrailingZeros(bitboard);
+	}
+
+	public static long popLsb(long bitboard) {
+		return bitboard & (bitboard - 1);
+	}
+
+	public static int count(long bitboard) {
+		return Long.bitCount(bitboard);
+	}
+
+}
@@ -0,0 +1,339 @@
+package dev.markconley.chess.engine.bitboard;
+
+import java.util.Arrays;
+
+import dev.markconley.chess.engine.core.Color;
+import dev.markconley.chess.engine.core.Copyable;
+import dev.markconley.chess.engine.pieces.PieceType;
+
+/**
+ * Piece placement as twelve piece bitboards (indexed by {@link #index(Color, PieceType)}) plus
+ * per-color and total occupancy masks, the Zobrist key of the placement and its
+ * {@link PieceSquareTables} sums.
+ * {@link dev.markconley.chess.engine.board.Board} keeps one of these in sync with its object view.
+ */
+public final class BitboardPosition implements Copyable<BitboardPosition> {
+
+	public static final int PIECE_TYPES = PieceType.values().length;
+	private static final int MATERIAL_BITS = 4;
+	private static final PieceType[] TYPES = PieceType.values();
+	private static final PlacementListener[] NO_LISTENERS = new PlacementListener[0];
+
+	private final long[] pieces = new long[2 * PIECE_TYPES];
+	private final long[] colors = new long[2];
+	private long occupied;
+	private long key;
+	private long pawnKey;
+	private long materialKey;
+	private int middlegameScore;
+	private int endgameScore;
+	private int phase;
+	private PlacementListener[] listeners = NO_LISTENERS;
+
+	public static int index(Color color, PieceType type) {
+		return color.ordinal() * PIECE_TYPES + type.ordinal();
+	}
+
+	/**
+	 * Contribution of one piece to {@link #materialKey()}.
+	 */
+	public static long materialUnit(Color color, PieceType type) {
+		return 1L << (index(color, type) * MATERIAL_BITS);
+	}
+
+	public void addPiece(Color color, PieceType type, int square) {
+		int index = index(color, type);
+		long bit = Bitboard.bit(square);
+		pieces[index] |= bit;
+		colors[color.ordinal()] |= bit;
+		occupied |= bit;
+		key ^= Zobrist.piece(index, square);
+		if (type == PieceType.PAWN || type == PieceType.KING) {
+			pawnKey ^= Zobrist.piece(index, square);
+		}
+		materialKey += 1L << (index * MATERIAL_BITS);
+		middlegameScore += PieceSquareTables.middlegame(index, square);
+		endgameScore += PieceSquareTables.endgame(index, square);
+		phase += PieceSquareTables.phase(index);
+		for (PlacementListener listener : listeners) {
+			listener.pieceAdded(index, square);
+		}
+	}
+
+	public void removePiece(Color color, PieceType type, int square) {
+		int index = index(color, type);
+		long bit = ~Bitboard.bit(square);
+		pieces[index] &= bit;
+		colors[color.ordinal()] &= bit;
+		occupied &= bit;
+		key ^= Zobrist.piece(index, square);
+		if (type == PieceType.PAWN || type == PieceType.KING) {
+			pawnKey ^= Zobrist.piece(index, square);
+		}
+		materialKey -= 1L << (index * MATERIAL_BITS);
+		middlegameScore -= PieceSquareTables.middlegame(index, square);
+		endgameScore -= PieceSquareTables.endgame(index, square);
+		phase -= PieceSquareTables.phase(index);
+		for (PlacementListener listener : listeners) {
+			listener.pieceRemoved(index, square);
+		}
+	}
+
+	public void clear() {
+		for (int i = 0; i < pieces.length; i++) {
+			pieces[i] = 0L;
+		}
+		colors[0] = 0L;
+		colors[1] = 0L;
+		occupied = 0L;
+		key = 0L;
+		pawnKey = 0L;
+		materialKey = 0L;
+		middlegameScore = 0;
+		endgameScore = 0;
+		phase = 0;
+		for (PlacementListener listener : listeners) {
+			listener.placementReset();
+		}
+	}
+
+	/**
+	 * Registers a listener to be told about every later add and remove. Copies do not inherit it.
+	 */
+	public void addListener(PlacementListener listener) {
+		PlacementListener[] grown = Arrays.copyOf(listeners, listeners.length + 1);
+		grown[listeners.length] = listener;
+		listeners = grown;
+	}
+
+	public void removeListener(PlacementListener listener) {
+		for (int i = 0; i < listeners.length; i++) {
+			if (listeners[i] == listener) {
+				PlacementListener[] shrunk = new PlacementListener[listeners.length - 1];
+				System.arraycopy(listeners, 0, shrunk, 0, i);
+				System.arraycopy(listeners, i + 1, shrunk, i, shrunk.length - i);
+				listeners = shrunk;
+				return;
+			}
+		}
+	}
+
+	public long pieces(Color color, PieceType type) {
+		return pieces[index(color, type)];
+	}
+
+	public long pieces(int index) {
+		return pieces[index];
+	}
+
+	/**
+	 * Type of the piece of the given color on the square, or {@code null} if there is none.
+	 */
+	public PieceType typeAt(Color color, int square) {
+		if (!Bitboard.contains(colors[color.ordinal()], square)) {
+			return null;
+		}
+		int base = color.ordinal() * PIECE_TYPES;
+		for (int type = 0; type < PIECE_TYPES; type++) {
+			if (Bitboard.contains(pieces[base + type], square)) {
+				return TYPES[type];
+			}
+		}
+		return null;
+	}
+
+	/** Rooks and queens of both colors. */
+	public long orthogonalSliders() {
+		return pieces(PieceType.ROOK) | pieces(PieceType.QUEEN);
+	}
+
+	/** Bishops and queens of both colors. */
+	public long diagonalSliders() {
+		return pieces(PieceType.BISHOP) | pieces(PieceType.QUEEN);
+	}
+
+	/** Pieces of the given type of both colors. */
+	public long pieces(PieceType type) {
+		return pieces[type.ordinal()] | pieces[PIECE_TYPES + type.ordinal()];
+	}
+
+	public long occupancy(Color color) {
+		return colors[color.ordinal()];
+	}
+
+	public long occupied() {
+		return occupied;
+	}
+
+	/**
+	 * Zobrist key of the piece placement alone, updated incrementally on every add and remove.
+	 */
+	public long key() {
+		return key;
+	}
+
+	/**
+	 * Zobrist key of the pawns and kings only, updated alongside {@link #key()}. Positions with
+	 * the same pawn key share their pawn-structure evaluation.
+	 */
+	public long pawnKey() {
+		return pawnKey;
+	}
+
+	/**
+	 * Piece counts packed four bits per piece index, updated alongside {@link #key()}. Positions
+	 * with the same material share it, so material-only rules compare it against constants built
+	 * from {@link #materialUnit(Color, PieceType)}.
+	 */
+	public long materialKey() {
+		return materialKey;
+	}
+
+	/**
+	 * Material plus middlegame piece-square values, White minus Black.
+	 */
+	public int middlegameScore() {
+		return middlegameScore;
+	}
+
+	/**
+	 * Material plus endgame piece-square values, White minus Black.
+	 */
+	public int endgameScore() {
+		return endgameScore;
+	}
+
+	/**
+	 * Game phase from the non-pawn material on the board: {@link PieceSquareTables#MAX_PHASE} at
+	 * the start, falling towards 0 as pieces come off. Promotions can push it above the maximum.
+	 */
+	public int phase() {
+		return phase;
+	}
+
+	public int kingSquare(Color color) {
+		long king = pieces(color, PieceType.KING);
+		return king == 0 ? -1 : Bitboard.lsb(king);
+	}
+
+	public long attacksFrom(PieceType type, Color color, int square) {
+		return AttackTables.attacks(type, color, square, occupied);
+	}
+
+	/**
+	 * Every square attacked by at least one piece of the given color.
+	 */
+	public long attackedSquares(Color color) {
+		long attacks = 0L;
+		for (PieceType type : TYPES) {
+			long bb = pieces(color, type);
+			while (bb != 0) {
+				attacks |= AttackTables.attacks(type, color, Bitboard.lsb(bb), occupied);
+				bb = Bitboard.popLsb(bb);
+			}
+		}
+		return attacks;
+	}
+
+	public boolean isSquareAttacked(int square, Color attacker) {
+		return isSquareAttacked(square, attacker, occupied);
+	}
+
+	/**
+	 * Attack test against a hypothetical occupancy, e.g. with the defending king lifted off the
+	 * board so that squares behind it along a slider's line count as attacked.
+	 */
+	public boolean isSquareAttacked(int square, Color attacker, long occupied) {
+		long queens = pieces(attacker, PieceType.QUEEN);
+		return (AttackTables.pawnAttacks(attacker.opposite(), square) & pieces(attacker, PieceType.PAWN)) != 0
+				|| (AttackTables.knightAttacks(square) & pieces(attacker, PieceType.KNIGHT)) != 0
+				|| (AttackTables.kingAttacks(square) & pieces(attacker, PieceType.KING)) != 0
+				|| (AttackTables.rookAttacks(square, occupied) & (pieces(attacker, PieceType.ROOK) | queens)) != 0
+				|| (AttackTables.bishopAttacks(square, occupied) & (pieces(attacker, PieceType.BISHOP) | queens)) != 0;
+	}
+
+	/**
+	 * Pieces of both colors that attack the square under the given occupancy. Pieces outside the
+	 * occupancy are still included; callers running an exchange mask them out.
+	 */
+	public long attackersTo(int square, long occupied) {
+		return (AttackTables.pawnAttacks(Color.BLACK, square) & pieces(Color.WHITE, PieceType.PAWN))
+				| (AttackTables.pawnAttacks(Color.WHITE, square) & pieces(Color.BLACK, PieceType.PAWN))
+				| (AttackTables.knightAttacks(square) & pieces(PieceType.KNIGHT))
+				| (AttackTables.kingAttacks(square) & pieces(PieceType.KING))
+				| (AttackTables.rookAttacks(square, occupied) & orthogonalSliders())
+				| (AttackTables.bishopAttacks(square, occupied) & diagonalSliders());
+	}
+
+	/**
+	 * Pieces of the given color that attack the square under the given occupancy.
+	 */
+	public long attackersTo(int square, Color attacker, long occupied) {
+		long queens = pieces(attacker, PieceType.QUEEN);
+		return (AttackTables.pawnAttacks(attacker.opposite(), square) & pieces(attacker, PieceType.PAWN))
+				| (AttackTables.knightAttacks(square) & pieces(attacker, PieceType.KNIGHT))
+				| (AttackTables.kingAttacks(square) & pieces(attacker, PieceType.KING))
+				| (AttackTables.rookAttacks(square, occupied) & (pieces(attacker, PieceType.ROOK) | queens))
+				| (AttackTables.bishopAttacks(square, occupied) & (pieces(attacker, PieceType.BISHOP) | queens));
+	}
+
+	/**
+	 * Pieces of the given color that are the only blocker between their own king and an enemy
+	 * slider, and so may only move along that line.
+	 */
+	public long pinnedPieces(Color color) {
+		int king = kingSquare(color);
+		if (king < 0) {
+			return 0L;
+		}
+		Color enemy = color.opposite();
+		long queens = pieces(enemy, PieceType.QUEEN);
+		long snipers = (AttackTables.rookAttacks(king, 0L) & (pieces(enemy, PieceType.ROOK) | queens))
+				| (AttackTables.bishopAttacks(king, 0L) & (pieces(enemy, PieceType.BISHOP) | queens));
+		long pinned = 0L;
+		while (snipers != 0) {
+			long blockers = AttackTables.between(king, Bitboard.lsb(snipers)) & occupied;
+			if (blockers != 0 && Bitboard.popLsb(blockers) == 0) {
+				pinned |= blockers & colors[color.ordinal()];
+			}
+			snipers = Bitboard.popLsb(snipers);
+		}
+		return pinned;
+	}
+
+	@Override
+	public BitboardPosition copy() {
+		BitboardPosition copy = new BitboardPosition();
+		copy.copyFrom(this);
+		return copy;
+	}
+
+	public void copyFrom(BitboardPosition other) {
+		System.arraycopy(other.pieces, 0, pieces, 0, pieces.length);
+		colors[0] = other.colors[0];
+		colors[1] = other.colors[1];
+		occupied = other.occupied;
+		key = other.key;
+		pawnKey = other.pawnKey;
+		materialKey = other.materialKey;
+		middlegameScore = other.middlegameScore;
+		endgameScore = other.endgameScore;
+		phase = other.phase;
+		for (PlacementListener listener : listeners) {
+			listener.placementReset();
+		}
+	}
+
+	public boolean samePlacement(BitboardPosition other) {
+		if (key != other.key) {
+			return false;
+		}
+		for (int i = 0; i < pieces.length; i++) {
+			if (pieces[i] != other.pieces[i]) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+}
@@ -0,0 +1,137 @@
+package dev.markconley.chess.engine.bitboard;
+
+/**
+ * Magic-indexed attack tables for rooks and bishops. Magics are searched once at class load
+ * with a fixed seed, so the tables are identical on every run.
+ */
+final class MagicBitboards {
+
+	private static final int[][] ROOK_STEPS = { { 1, 0 }, { -1, 0 }, { 0, 1 }, { 0, -1 } };
+	private static final int[][] BISHOP_STEPS = { { 1, 1 }, { 1, -1 }, { -1, 1 }, { -1, -1 } };
+
+	private static final long[] ROOK_MASKS = new long[64];
+	private static final long[] ROOK_MAGICS = new long[64];
+	private static final int[] ROOK_SHIFTS = new int[64];
+	private static final long[][] ROOK_ATTACKS = new long[64][];
+
+	private static final long[] BISHOP_MASKS = new long[64];
+	private static final long[] BISHOP_MAGICS = new long[64];
+	private static final int[] BISHOP_SHIFTS = new int[64];
+	private static final long[][] BISHOP_ATTACKS = new long[64][];
+
+	private static long seed = 0x9E3779B97F4A7C15L;
+
+	static {
+		for (int square = 0; square < 64; square++) {
+			initSquare(square, ROOK_STEPS, ROOK_MASKS, ROOK_MAGICS, ROOK_SHIFTS, ROOK_ATTACKS);
+			initSquare(square, BISHOP_STEPS, BISHOP_MASKS, BISHOP_MAGICS, BISHOP_SHIFTS, BISHOP_ATTACKS);
+		}
+	}
+
+	private MagicBitboards() { } // Utility class
+
+	static long rookAttacks(int square, long occupied) {
+		int index = (int) (((occupied & ROOK_MASKS[square]) * ROOK_MAGICS[square]) >>> ROOK_SHIFTS[square]);
+		return ROOK_ATTACKS[square][index];
+	}
+
+	static long bishopAttacks(int square, long occupied) {
+		int index = (int) (((occupied & BISHOP_MASKS[square]) * BISHOP_MAGICS[square]) >>> BISHOP_SHIFTS[square]);
+		return BISHOP_ATTACKS[square][index];
+	}
+
+	/**
+	 * Walks the rays one square at a time. Only used to build the tables.
+	 */
+	static long slowAttacks(int square, long occupied, int[][] steps) {
+		long attacks = 0L;
+		int row = Bitboard.row(square);
+		int col = Bitboard.col(square);
+		for (int[] step : steps) {
+			int r = row + step[0];
+			int c = col + step[1];
+			while (r >= 0 && r < 8 && c >= 0 && c < 8) {
+				long bit = Bitboard.bit(Bitboard.square(r, c));
+				attacks |= bit;
+				if ((occupied & bit) != 0) {
+					break;
+				}
+				r += step[0];
+				c += step[1];
+			}
+		}
+		return attacks;
+	}
+
+	private static long relevantMask(int square, int[][] steps) {
+		long mask = 0L;
+		int row = Bitboard.row(square);
+		int col = Bitboard.col(square);
+		for (int[] step : steps) {
+			int r = row + step[0];
+			int c = col + step[1];
+			// The last square of a ray never blocks anything behind it
+			while (r + step[0] >= 0 && r + step[0] < 8 && c + step[1] >= 0 && c + step[1] < 8) {
+				mask |= Bitboard.bit(Bitboard.square(r, c));
+				r += step[0];
+				c += step[1];
+			}
+		}
+		return mask;
+	}
+
+	private static void initSquare(int square, int[][] steps, long[] masks, long[] magics, int[] shifts,
+			long[][] attacks) {
+		long mask = relevantMask(square, steps);
+		int bits = Long.bitCount(mask);
+		int size = 1 << bits;
+
+		long[] occupancies = new long[size];
+		long[] references = new long[size];
+		long subset = 0L;
+		for (int i = 0; i < size; i++) {
+			occupancies[i] = subset;
+			references[i] = slowAttacks(square, subset, steps);
+			subset = (subset - mask) & mask; // Carry-rippler enumeration of all subsets
+		}
+
+		long[] table = new long[size];
+		int[] epoch = new int[size];
+		int attempt = 0;
+		long magic;
+		search: while (true) {
+			magic = nextSparseRandom();
+			if (Long.bitCount((mask * magic) & 0xFF00000000000000L) < 6) {
+				continue;
+			}
+			attempt++;
+			for (int i = 0; i < size; i++) {
+				int index = (int) ((occupancies[i] * magic) >>> (64 - bits));
+				if (epoch[index] < attempt) {
+					epoch[index] = attempt;
+					table[index] = references[i];
+				} else if (table[index] != references[i]) {
+					continue search;
+				}
+			}
+			break;
+		}
+
+		masks[square] = mask;
+		magics[square] = magic;
+		shifts[square] = 64 - bits;
+		attacks[square] = table;
+	}
+
+	private static long nextRandom() {
+		seed ^= seed >>> 12;
+		seed ^= seed << 25;
+		seed ^= seed >>> 27;
+		return seed * 2685821657736338717L;
+	}
+
+	private static long nextSparseRandom() {
+		return nextRandom() & nextRandom() & nextRandom();
+	}
+
+}
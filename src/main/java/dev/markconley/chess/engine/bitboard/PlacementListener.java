@@ -0,0 +1,17 @@
+package dev.markconley.chess.engine.bitboard;
+
+/**
+ * Receives every placement change of a {@link BitboardPosition}, after its own bitboards and sums
+ * have been updated. Lets state that is too large to keep in the position itself, such as a
+ * neural-network accumulator, follow make and unmake incrementally.
+ */
+public interface PlacementListener {
+
+	void pieceAdded(int pieceIndex, int square);
+
+	void pieceRemoved(int pieceIndex, int square);
+
+	/** The whole placement changed at once: the position was cleared or copied over. */
+	void placementReset();
+
+}
@@ -0,0 +1,56 @@
+package dev.markconley.chess.engine.bitboard;
+
+import java.util.SplittableRandom;
+
+/**
+ * Random keys for 64-bit Zobrist position hashing. The seed is fixed so keys are stable between
+ * runs, which keeps hashes comparable across processes.
+ */
+public final class Zobrist {
+
+	private static final long[][] PIECE_SQUARE = new long[2 * BitboardPosition.PIECE_TYPES][64];
+	private static final long[] CASTLING = new long[16];
+	private static final long[] EN_PASSANT_FILE = new long[8];
+	private static final long SIDE_TO_MOVE;
+
+	static {
+		SplittableRandom random = new SplittableRandom(0x5EEDC0FFEEL);
+		for (long[] squares : PIECE_SQUARE) {
+			for (int square = 0; square < 64; square++) {
+				squares[square] = random.nextLong();
+			}
+		}
+		// One key per right; combinations are XORs so rights can be toggled individually
+		long[] rights = { random.nextLong(), random.nextLong(), random.nextLong(), random.nextLong() };
+		for (int bits = 0; bits < CASTLING.length; bits++) {
+			for (int right = 0; right < rights.length; right++) {
+				if ((bits & (1 << right)) != 0) {
+					CASTLING[bits] ^= rights[right];
+				}
+			}
+		}
+		for (int file = 0; file < EN_PASSANT_FILE.length; file++) {
+			EN_PASSANT_FILE[file] = random.nextLong();
+		}
+		SIDE_TO_MOVE = random.nextLong();
+	}
+
+	private Zobrist() { } // Utility class
+
+	public static long piece(int pieceIndex, int square) {
+		return PIECE_SQUARE[pieceIndex][square];
+	}
+
+	public static long castling(int rightsBits) {
+		return CASTLING[rightsBits];
+	}
+
+	public static long enPassantFile(int file) {
+		return EN_PASSANT_FILE[file];
+	}
+
+	public static long sideToMove() {
+		return SIDE_TO_MOVE;
+	}
+
+}
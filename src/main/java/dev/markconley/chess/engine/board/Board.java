@@ -3,33 +3,31 @@ package dev.markconley.chess.engine.board;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.function.Predicate;
-import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
+import dev.markconley.chess.engine.bitboard.Bitboard;
+import dev.markconley.chess.engine.bitboard.BitboardPosition;
 import dev.markconley.chess.engine.core.Color;
 import dev.markconley.chess.engine.core.Copyable;
 import dev.markconley.chess.engine.core.Position;
-import dev.markconley.chess.engine.pieces.Bishop;
-import dev.markconley.chess.engine.pieces.King;
-import dev.markconley.chess.engine.pieces.Knight;
-import dev.markconley.chess.engine.pieces.Pawn;
 import dev.markconley.chess.engine.pieces.Piece;
 import dev.markconley.chess.engine.pieces.PieceType;
-import dev.markconley.chess.engine.pieces.Queen;
-import dev.markconley.chess.engine.pieces.Rook;
 
 public class Board implements Copyable<Board> {
 
 	private static final int BOARD_SIZE = 8;
-	private final Piece[][] board;
+	private static final PieceType[] BACK_RANK = { PieceType.ROOK, PieceType.KNIGHT, PieceType.BISHOP,
+			PieceType.QUEEN, PieceType.KING, PieceType.BISHOP, PieceType.KNIGHT, PieceType.ROOK };
+	private final Piece[] board;
+	private final BitboardPosition bitboards;
 
 	public Board() {
-		this.board = new Piece[BOARD_SIZE][BOARD_SIZE];
-		setupInitialPosition();
+		this(false);
 	}
 	
 	public Board(boolean skipSetup) {
-		this.board = new Piece[BOARD_SIZE][BOARD_SIZE];
+		this.board = new Piece[BOARD_SIZE * BOARD_SIZE];
+		this.bitboards = new BitboardPosition();
 		if (!skipSetup) {
 			setupInitialPosition();
 		}
@@ -49,59 +47,57 @@ public class Board implements Copyable<Board> {
 
 	private void setupPawns(int row, Color color) {
 	    for (int col = 0; col < 8; col++) {
-	        board[row][col] = new Pawn(color);
-	        Position currentPosition = Position.of(row, col);
-	        getPieceAt(currentPosition).setPosition(currentPosition);
+	        setPieceAt(Bitboard.square(row, col), Piece.of(color, PieceType.PAWN));
 	    }
 	}
 
 	private void setupBackRank(int row, Color color) {
-	    Piece[] pieces = {
-	        new Rook(color),
-	        new Knight(color),
-	        new Bishop(color),
-	        new Queen(color),
-	        new King(color),
-	        new Bishop(color),
-	        new Knight(color),
-	        new Rook(color)
-	    };
 	    for (int col = 0; col < 8; col++) {
-	        board[row][col] = pieces[col];
-	        Position currentPosition = Position.of(row, col);
-	        getPieceAt(currentPosition).setPosition(currentPosition);
+	        setPieceAt(Bitboard.square(row, col), Piece.of(color, BACK_RANK[col]));
 	    }
 	}
 
 
 	public void clearBoard() {
-		for (int row = 0; row < BOARD_SIZE; row++) {
-			for (int col = 0; col < BOARD_SIZE; col++) {
-				board[row][col] = null;
-			}
+		for (int square = 0; square < board.length; square++) {
+			board[square] = null;
 		}
+		bitboards.clear();
 	}
 	
 	public Board place(String square, Piece piece) {
-	    Position pos = Position.of(square);
-	    piece.setPosition(pos);
-	    setPieceAt(pos, piece);
+	    setPieceAt(Position.of(square), piece);
 	    return this;
 	}
 
 	public Piece getPieceAt(Position pos) {
-		return board[pos.getRow()][pos.getCol()];
+		return board[pos.getSquare()];
+	}
+
+	/**
+	 * Piece on the square index (a1 = 0 through h8 = 63), or {@code null} if it is empty.
+	 */
+	public Piece getPieceAt(int square) {
+		return board[square];
 	}
 
 	public void setPieceAt(Position pos, Piece piece) {
-		board[pos.getRow()][pos.getCol()] = piece;
+		setPieceAt(pos.getSquare(), piece);
+	}
+
+	public void setPieceAt(int square, Piece piece) {
+		Piece previous = board[square];
+		if (previous != null) {
+			bitboards.removePiece(previous.getColor(), previous.getPieceType(), square);
+		}
+		board[square] = piece;
 		if (piece != null) {
-			piece.setPosition(pos);
+			bitboards.addPiece(piece.getColor(), piece.getPieceType(), square);
 		}
 	}
 
 	public void removePieceAt(Position pos) {
-		board[pos.getRow()][pos.getCol()] = null;
+		setPieceAt(pos.getSquare(), null);
 	}
 	
 	public boolean isSquareEmpty(Position pos) {
@@ -109,11 +105,20 @@ public class Board implements Copyable<Board> {
 	}
 
 	public List<Piece> getActivePieces(Predicate<Piece> filter) {
-		return streamPieces().filter(filter).collect(Collectors.toList());
+		List<Piece> pieces = new ArrayList<>();
+		for (long occupied = bitboards.occupied(); occupied != 0; occupied = Bitboard.popLsb(occupied)) {
+			Piece piece = board[Bitboard.lsb(occupied)];
+			if (filter.test(piece)) {
+				pieces.add(piece);
+			}
+		}
+		return pieces;
 	}
 
 	public List<Piece> getActivePieces(Color color) {
-		return getActivePieces(p -> p.getColor() == color);
+		List<Piece> pieces = new ArrayList<>(Bitboard.count(bitboards.occupancy(color)));
+		forEachPiece(color, (piece, square) -> pieces.add(piece));
+		return pieces;
 	}
 
 	public List<Piece> getAllActivePieces() {
@@ -121,40 +126,78 @@ public class Board implements Copyable<Board> {
 	}
 
 	public Stream<Piece> streamPieces() {
-		List<Piece> pieces = new ArrayList<>();
-		for (int row = 0; row < BOARD_SIZE; row++) {
-			for (int col = 0; col < BOARD_SIZE; col++) {
-				Piece p = board[row][col];
-				if (p != null) {
-					pieces.add(p);
-				}
-			}
+		return getAllActivePieces().stream();
+	}
+
+	/**
+	 * Visits every piece of the color with its square, walking the color's occupancy set rather
+	 * than the whole board. Allocates nothing.
+	 */
+	public void forEachPiece(Color color, PieceVisitor visitor) {
+		for (long pieces = bitboards.occupancy(color); pieces != 0; pieces = Bitboard.popLsb(pieces)) {
+			int square = Bitboard.lsb(pieces);
+			visitor.visit(board[square], square);
 		}
-		return pieces.stream();
+	}
+
+	/**
+	 * Set of squares holding pieces of the color and type, as a bitboard.
+	 */
+	public long squares(Color color, PieceType type) {
+		return bitboards.pieces(color, type);
+	}
+
+	public int count(Color color, PieceType type) {
+		return Bitboard.count(bitboards.pieces(color, type));
+	}
+
+	/**
+	 * Square index of the king, or -1 if the color has none.
+	 */
+	public int kingSquare(Color color) {
+		return bitboards.kingSquare(color);
 	}
 
 	public Position findKingPosition(Color color) {
-		return streamPieces()
-				.filter(p -> p.getColor() == color && p.getPieceType() == PieceType.KING)
-				.map(Piece::getPosition)
-				.findFirst()
-				.orElseThrow(() -> new IllegalStateException("No king found for color: " + color));
+		int square = kingSquare(color);
+		if (square < 0) {
+			throw new IllegalStateException("No king found for color: " + color);
+		}
+		return Position.of(square);
+	}
+
+	/**
+	 * Bitboard view of the placement, kept in sync by {@link #setPieceAt(Position, Piece)}.
+	 */
+	public BitboardPosition getBitboards() {
+		return bitboards;
 	}
 
 	@Override
 	public Board copy() {
-		Board newBoard = new Board();
-		for (int row = 0; row < BOARD_SIZE; row++) {
-			for (int col = 0; col < BOARD_SIZE; col++) {
-				Piece piece = this.board[row][col];
-				if (piece != null) {
-					newBoard.board[row][col] = piece.copy();
-				}
-			}
-		}
+		// Pieces are immutable, so the copy shares them
+		Board newBoard = new Board(true);
+		System.arraycopy(board, 0, newBoard.board, 0, board.length);
+		newBoard.bitboards.copyFrom(bitboards);
 		return newBoard;
 	}
 
+	@Override
+	public boolean equals(Object o) {
+		if (this == o) {
+			return true;
+		}
+		if (!(o instanceof Board)) {
+			return false;
+		}
+		return bitboards.samePlacement(((Board) o).bitboards);
+	}
+
+	@Override
+	public int hashCode() {
+		return Long.hashCode(bitboards.key());
+	}
+
 	@Override
 	public String toString() {
 		StringBuilder sb = new StringBuilder();
@@ -162,7 +205,7 @@ public class Board implements Copyable<Board> {
 		for (int row = 7; row >= 0; row--) {
 			sb.append(row + 1).append(" ");
 			for (int col = 0; col < 8; col++) {
-				Piece piece = board[row][col];
+				Piece piece = board[Bitboard.square(row, col)];
 				String symbol = piece == null ? "." : getSymbol(piece);
 				sb.append(symbol).append(" ");
 			}
@@ -0,0 +1,13 @@
+package dev.markconley.chess.engine.board;
+
+import dev.markconley.chess.engine.pieces.Piece;
+
+/**
+ * Callback for {@link Board#forEachPiece}: a piece and the square it stands on.
+ */
+@FunctionalInterface
+public interface PieceVisitor {
+
+	void visit(Piece piece, int square);
+
+}
@@ -1,21 +1,37 @@
 package dev.markconley.chess.engine.core;
 
-import java.util.Objects;
-
+/**
+ * A board square. There are exactly 64 instances, one per square, so {@link #of(int, int)},
+ * {@link #of(String)} and {@link #of(int)} never allocate and positions may be compared with
+ * {@code ==}.
+ */
 public final class Position {
 
+	private static final Position[] SQUARES = new Position[64];
+
+	static {
+		for (int square = 0; square < SQUARES.length; square++) {
+			SQUARES[square] = new Position(square >>> 3, square & 7);
+		}
+	}
+
 	private final int row;
 	private final int col;
+	private final int square;
+	private final String algebraic;
 
-	public Position(int row, int col) {
-		if (!isValid(row, col)) {
-			throw new IllegalArgumentException("Invalid board position: " + row + ", " + col);
-		}
+	private Position(int row, int col) {
 		this.row = row;
 		this.col = col;
+		this.square = row * 8 + col;
+		this.algebraic = "" + (char) ('a' + col) + (char) ('1' + row);
+	}
+
+	public String toAlgebraic() {
+		return algebraic;
 	}
-	
-	public Position(String algebraic) {
+
+	public static Position of(String algebraic) {
 		if (algebraic == null || algebraic.length() != 2) {
 			throw new IllegalArgumentException("Invalid position: " + algebraic);
 		}
@@ -26,24 +42,25 @@ public final class Position {
 		if (file < 'a' || file > 'h' || rank < '1' || rank > '8') {
 			throw new IllegalArgumentException("Invalid position: " + algebraic);
 		}
+		return SQUARES[(rank - '1') * 8 + (file - 'a')];
+	}
 
-		this.col = file - 'a'; // a-h maps to 0-7
-		this.row = rank - '1'; // 1-8 maps to 0-7
+	public static Position of(int row, int col) {
+		if (!isValid(row, col)) {
+			throw new IllegalArgumentException("Invalid board position: " + row + ", " + col);
+		}
+		return SQUARES[row * 8 + col];
 	}
 
-	public String toAlgebraic() {
-		char file = (char) ('a' + col);
-		char rank = (char) ('1' + row);
-		return "" + file + rank;
+	/**
+	 * The position for a square index, a1 = 0 through h8 = 63.
+	 */
+	public static Position of(int square) {
+		if (square < 0 || square >= SQUARES.length) {
+			throw new IllegalArgumentException("Invalid square index: " + square);
+		}
+		return SQUARES[square];
 	}
-	
-    public static Position of(String algebraic) {
-        return new Position(algebraic);
-    }
-	
-    public static Position of(int row, int col) {
-        return new Position(row, col);
-    }
 
 	public int getRow() {
 		return row;
@@ -53,6 +70,13 @@ public final class Position {
 		return col;
 	}
 
+	/**
+	 * Square index of the position, a1 = 0 through h8 = 63.
+	 */
+	public int getSquare() {
+		return square;
+	}
+
 	public static boolean isValid(int row, int col) {
 		return row >= 0 && row < 8 && col >= 0 && col < 8;
 	}
@@ -75,7 +99,7 @@ public final class Position {
 
 	@Override
 	public int hashCode() {
-		return Objects.hash(row, col);
+		return square;
 	}
 
 	@Override
@@ -1,52 +1,126 @@
 package dev.markconley.chess.engine.move;
 
+import java.util.ArrayList;
 import java.util.List;
 
-import dev.markconley.chess.engine.board.Board;
 import dev.markconley.chess.engine.core.Color;
 import dev.markconley.chess.engine.pieces.Piece;
+import dev.markconley.chess.engine.pieces.PieceType;
 import dev.markconley.chess.engine.state.BoardState;
 import dev.markconley.chess.engine.state.GameStateEvaluator;
 
 public class LegalMoveGenerator {
 
+	private static final MoveExecutor moveExecutor = new MoveExecutor();
+	private static final ThreadLocal<MoveList> SCRATCH = ThreadLocal.withInitial(MoveList::new);
+
 	private LegalMoveGenerator() { }
 
     public static List<Move> generateLegalMoves(BoardState state, Color color) {
-        return state.getBoard()
-                .getActivePieces(color)
-                .stream()
-                .flatMap(p -> p.getPossibleMoves(state).stream())
-                .filter(move -> isLegalMove(state, move, color))
-                .toList();
+        MoveList packed = new MoveList();
+        generateLegalMoves(state, color, packed);
+
+        List<Move> moves = new ArrayList<>(packed.size());
+        for (int i = 0; i < packed.size(); i++) {
+            moves.add(PackedMove.toMove(state, packed.get(i)));
+        }
+        return moves;
     }
 
-    public static boolean isLegalMove(BoardState state, Move move, Color color) {
-        Board board = state.getBoard();
-        Piece piece = board.getPieceAt(move.from());
+    /**
+     * Appends the legal moves of the given color to the list as {@link PackedMove} ints. Moves
+     * already in the list are left alone.
+     */
+    public static void generateLegalMoves(BoardState state, Color color, MoveList moves) {
+        MoveGenerator.generateLegalMoves(state, color, moves);
+    }
 
-        // Basic piece presence and ownership check
-        if (piece == null || piece.getColor() != color) {
-            return false;
+    /**
+     * Writes the legal moves of the side to move into the buffer as {@link PackedMove} ints,
+     * starting at index 0, and returns how many there are. The generator appends straight into
+     * the buffer and allocates nothing.
+     *
+     * @throws IllegalArgumentException if the buffer is shorter than {@link MoveList#MAX_MOVES}
+     */
+    public static int generateLegalMoves(BoardState state, int[] buffer) {
+        if (buffer.length < MoveList.MAX_MOVES) {
+            throw new IllegalArgumentException(
+                    "Move buffer too small: " + buffer.length + " < " + MoveList.MAX_MOVES);
         }
+        return MoveGenerator.generateLegalMoves(state, state.getCurrentTurn(), buffer, 0);
+    }
 
-        // Step 1: Generate pseudo-legal moves ONLY for this piece
-        List<Move> pseudoLegalMoves = MoveGenerator.generateMoves(state, piece);
+    /**
+     * Whether the color has at least one legal move. Allocates nothing in steady state.
+     */
+    public static boolean hasLegalMoves(BoardState state, Color color) {
+        MoveList moves = SCRATCH.get();
+        moves.clear();
+        MoveGenerator.generateLegalMoves(state, color, moves);
+        return !moves.isEmpty();
+    }
+
+    /**
+     * Appends the legal captures and promotions of the given color.
+     */
+    public static void generateLegalCaptures(BoardState state, Color color, MoveList moves) {
+        MoveGenerator.generateLegalCaptures(state, color, moves);
+    }
 
-        // Step 2: Check if desired move is among pseudo-legal ones
-        boolean isPseudoLegal = pseudoLegalMoves.stream().anyMatch(m -> m.equals(move));
-        if (!isPseudoLegal) {
+    /**
+     * Appends the legal moves that are neither captures nor promotions, castling included.
+     */
+    public static void generateLegalQuiets(BoardState state, Color color, MoveList moves) {
+        MoveGenerator.generateLegalQuiets(state, color, moves);
+    }
+
+    /**
+     * Whether the move is legal for the side to move, checked geometrically against the board
+     * without generating other moves or playing it. The move's capture, castling, en passant and
+     * promotion details must match the board. The state is not modified.
+     */
+    public static boolean isLegal(BoardState state, Move move) {
+        Color color = state.getCurrentTurn();
+        if (move.movedPiece().getColor() != color) {
             return false;
         }
+        if (move.isPromotion()) {
+            Piece promotion = move.promotionPiece();
+            PieceType type = promotion.getPieceType();
+            if (promotion.getColor() != color || type == PieceType.KING || type == PieceType.PAWN) {
+                return false;
+            }
+        }
+        return MoveGenerator.isLegal(state, PackedMove.fromMove(move));
+    }
 
-        // Step 3: Copy the board state to simulate the move
-        BoardState simulated = state.copy();
+    /**
+     * Same as {@link #isLegal(BoardState, Move)}; a move for the side not to move is never legal.
+     */
+    public static boolean isLegalMove(BoardState state, Move move, Color color) {
+        return color == state.getCurrentTurn() && isLegal(state, move);
+    }
 
-        // Step 4: Apply the move safely on the simulated copy
-        new MoveExecutor().applyMove(simulated, move);
+    /**
+     * Plays the move in place, tests the mover's king and takes the move back. The state is left
+     * exactly as it was found.
+     */
+    public static boolean leavesKingSafe(BoardState state, Move move, Color color) {
+        moveExecutor.makeMove(state, move);
+        try {
+            return !GameStateEvaluator.isInCheck(state, color);
+        } finally {
+            moveExecutor.unmakeMove(state, move);
+        }
+    }
 
-        // Step 5: Confirm the player's king is not in check after the move
-        return !GameStateEvaluator.isInCheck(simulated, color);
+    public static boolean leavesKingSafe(BoardState state, int move, Color color) {
+        moveExecutor.makeMove(state, move);
+        try {
+            return !GameStateEvaluator.isInCheck(state, color);
+        } finally {
+            moveExecutor.unmakeMove(state, move);
+        }
     }
 
 }
@@ -1,65 +1,181 @@
 package dev.markconley.chess.engine.move;
 
+import dev.markconley.chess.engine.bitboard.Bitboard;
 import dev.markconley.chess.engine.board.Board;
 import dev.markconley.chess.engine.core.Position;
 import dev.markconley.chess.engine.pieces.Pawn;
 import dev.markconley.chess.engine.pieces.Piece;
+import dev.markconley.chess.engine.pieces.PieceType;
 import dev.markconley.chess.engine.state.BoardState;
+import dev.markconley.chess.engine.state.CastlingRights;
+import dev.markconley.chess.engine.state.UndoStack;
 
 public class MoveExecutor {
 
+	// Rights that survive a move touching the square: king and rook home squares clear theirs
+	private static final int[] CASTLING_MASK = new int[64];
+
+	static {
+		int all = CastlingRights.WHITE_KINGSIDE | CastlingRights.WHITE_QUEENSIDE
+				| CastlingRights.BLACK_KINGSIDE | CastlingRights.BLACK_QUEENSIDE;
+		for (int square = 0; square < 64; square++) {
+			CASTLING_MASK[square] = all;
+		}
+		CASTLING_MASK[0] &= ~CastlingRights.WHITE_QUEENSIDE;
+		CASTLING_MASK[7] &= ~CastlingRights.WHITE_KINGSIDE;
+		CASTLING_MASK[4] &= ~(CastlingRights.WHITE_KINGSIDE | CastlingRights.WHITE_QUEENSIDE);
+		CASTLING_MASK[56] &= ~CastlingRights.BLACK_QUEENSIDE;
+		CASTLING_MASK[63] &= ~CastlingRights.BLACK_KINGSIDE;
+		CASTLING_MASK[60] &= ~(CastlingRights.BLACK_KINGSIDE | CastlingRights.BLACK_QUEENSIDE);
+	}
+
 	public void applyMove(BoardState state, Move move) {
+		movePieces(state.getBoard(), move);
+
+		boolean isPawnMove = move.movedPiece() instanceof Pawn;
+		if (move.isCapture() || isPawnMove) {
+		    state.resetHalfMoveClock();
+		} else {
+		    state.incrementHalfMoveClock();
+		}
+	}
+
+	/**
+	 * Plays the move as a full position transition: pieces, castling rights, en passant square,
+	 * half-move clock and side to move. The previous values are pushed onto the state's
+	 * {@link UndoStack} so that {@link #unmakeMove(BoardState, Move)} can restore them exactly.
+	 */
+	public void makeMove(BoardState state, Move move) {
+		make(state, PackedMove.fromMove(move), move.promotionPiece());
+	}
+
+	/**
+	 * Reverts the most recent {@link #makeMove(BoardState, Move)}. Moves must be unmade in the
+	 * reverse order they were made.
+	 */
+	public void unmakeMove(BoardState state, Move move) {
+		unmakeMove(state, PackedMove.fromMove(move));
+	}
+
+	/**
+	 * Same as {@link #makeMove(BoardState, Move)} for a {@link PackedMove}.
+	 */
+	public void makeMove(BoardState state, int move) {
+		make(state, move, null);
+	}
+
+	public void unmakeMove(BoardState state, int move) {
+		Board board = state.getBoard();
+		UndoStack undo = state.getUndoStack();
+		int from = PackedMove.from(move);
+		int to = PackedMove.to(move);
+
+		if (PackedMove.isCastling(move)) {
+			undoCastling(board, from, to);
+		}
+
+		board.setPieceAt(to, null);
+		board.setPieceAt(from, undo.movedPiece());
+
+		Piece captured = undo.capturedPiece();
+		if (captured != null) {
+			board.setPieceAt(capturedSquare(move), captured);
+		}
+
+		state.getCastlingRights().setBits(undo.castlingRights());
+		state.setEnPassantSquare(undo.enPassantSquare());
+		state.setHalfMoveClock(undo.halfMoveClock());
+		state.switchTurn();
+		undo.pop();
+	}
+
+	private void make(BoardState state, int move, Piece promotionPiece) {
 		Board board = state.getBoard();
+		int from = PackedMove.from(move);
+		int to = PackedMove.to(move);
+		int capturedAt = capturedSquare(move);
+		Piece moved = board.getPieceAt(from);
+		Piece captured = board.getPieceAt(capturedAt);
+		CastlingRights rights = state.getCastlingRights();
+
+		state.getUndoStack().push(moved, captured, rights.toBits(), state.getEnPassantSquare(),
+				state.getHalfMoveClock());
+
+		board.setPieceAt(from, null);
+		if (captured != null) {
+			board.setPieceAt(capturedAt, null);
+		}
+		if (PackedMove.isPromotion(move)) {
+			Piece promoted = promotionPiece != null
+					? promotionPiece
+					: PackedMove.createPiece(PackedMove.promotionType(move), moved.getColor());
+			board.setPieceAt(to, promoted);
+		} else {
+			board.setPieceAt(to, moved);
+		}
+		if (PackedMove.isCastling(move)) {
+			handleCastling(board, from, to);
+		}
+
+		if (captured != null || moved.getPieceType() == PieceType.PAWN) {
+			state.resetHalfMoveClock();
+		} else {
+			state.incrementHalfMoveClock();
+		}
+		rights.setBits(rights.toBits() & CASTLING_MASK[from] & CASTLING_MASK[to]);
+		state.setEnPassantSquare(PackedMove.flags(move) == PackedMove.DOUBLE_PUSH ? (from + to) / 2 : BoardState.NO_SQUARE);
+		state.switchTurn();
+	}
+
+	private void movePieces(Board board, Move move) {
 		Piece movedPiece = move.movedPiece();
 		Position from = move.from();
 		Position to = move.to();
 
 		board.setPieceAt(from, null);
 		board.setPieceAt(to, movedPiece);
-		movedPiece.setPosition(to);
 
 		if (move.isEnPassant()) {
-			Position capturedPawnPos = new Position(from.getRow(), to.getCol());
-			board.setPieceAt(capturedPawnPos, null);
+			board.setPieceAt(Position.of(from.getRow(), to.getCol()), null);
 		}
 
 		if (move.isCastling()) {
-			handleCastling(board, from, to);
+			handleCastling(board, from.getSquare(), to.getSquare());
 		}
 
 		if (move.isPromotion()) {
-			Piece promoted = move.promotionPiece();
-			promoted.setPosition(to);
-			board.setPieceAt(to, promoted);
+			board.setPieceAt(to, move.promotionPiece());
 		}
-		
-		boolean isPawnMove = move.movedPiece() instanceof Pawn;
-		if (move.isCapture() || isPawnMove) {
-		    state.resetHalfMoveClock();
-		} else {
-		    state.incrementHalfMoveClock();
+	}
+
+	private int capturedSquare(int move) {
+		int to = PackedMove.to(move);
+		if (!PackedMove.isEnPassant(move)) {
+			return to;
 		}
+		return Bitboard.square(Bitboard.row(PackedMove.from(move)), Bitboard.col(to));
 	}
 
-	private void handleCastling(Board board, Position from, Position to) {
-		int row = from.getRow();
-		int toCol = to.getCol();
-		if (toCol == 6) { // Kingside castling
-			moveRookForCastling(board, row, 7, 5);
-		} else if (toCol == 2) { // Queenside castling
-			moveRookForCastling(board, row, 0, 3);
+	private void handleCastling(Board board, int from, int to) {
+		if (to > from) { // Kingside castling
+			moveRookForCastling(board, from + 3, from + 1);
+		} else { // Queenside castling
+			moveRookForCastling(board, from - 4, from - 1);
 		}
 	}
 
-	private void moveRookForCastling(Board board, int row, int fromCol, int toCol) {
-		Position rookFrom = new Position(row, fromCol);
-		Position rookTo = new Position(row, toCol);
+	private void undoCastling(Board board, int from, int to) {
+		if (to > from) {
+			moveRookForCastling(board, from + 1, from + 3);
+		} else {
+			moveRookForCastling(board, from - 1, from - 4);
+		}
+	}
+
+	private void moveRookForCastling(Board board, int rookFrom, int rookTo) {
 		Piece rook = board.getPieceAt(rookFrom);
 		board.setPieceAt(rookTo, rook);
 		board.setPieceAt(rookFrom, null);
-		if (rook != null) {
-			rook.setPosition(rookTo);
-		}
 	}
-	
+
 }
@@ -1,227 +1,471 @@
 package dev.markconley.chess.engine.move;
 
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.List;
-import java.util.Map;
-import java.util.function.BiFunction;
 
+import dev.markconley.chess.engine.bitboard.AttackTables;
+import dev.markconley.chess.engine.bitboard.Bitboard;
+import dev.markconley.chess.engine.bitboard.BitboardPosition;
 import dev.markconley.chess.engine.board.Board;
 import dev.markconley.chess.engine.core.Color;
 import dev.markconley.chess.engine.core.Position;
-import dev.markconley.chess.engine.move.service.SpecialMoveService;
-import dev.markconley.chess.engine.pieces.Bishop;
 import dev.markconley.chess.engine.pieces.Direction;
-import dev.markconley.chess.engine.pieces.King;
-import dev.markconley.chess.engine.pieces.Knight;
-import dev.markconley.chess.engine.pieces.Pawn;
 import dev.markconley.chess.engine.pieces.Piece;
-import dev.markconley.chess.engine.pieces.Queen;
-import dev.markconley.chess.engine.pieces.Rook;
+import dev.markconley.chess.engine.pieces.PieceType;
 import dev.markconley.chess.engine.state.BoardState;
+import dev.markconley.chess.engine.state.CastlingRights;
 
 public class MoveGenerator {
-	
-	public static List<Move> generateSlidingMoves(Board board, Piece piece, Direction[] directions) {
-	    return Arrays.stream(directions)
-	            .flatMap(direction -> slideInDirection(board, piece, direction).stream())
-	            .toList();
+
+	private static final PieceType[] PROMOTION_TYPES = {
+			PieceType.QUEEN, PieceType.ROOK, PieceType.BISHOP, PieceType.KNIGHT };
+	private static final PieceType[] PIECE_TYPES = {
+			PieceType.KNIGHT, PieceType.BISHOP, PieceType.ROOK, PieceType.QUEEN };
+	private static final int NO_KING = -1;
+	private static final long PROMOTION_RANKS = 0xFF000000000000FFL;
+
+	// Which part of the legal moves a generation pass produces; CAPTURES and QUIETS partition ALL
+	private enum Stage { ALL, CAPTURES, QUIETS }
+
+	/**
+	 * Appends every pseudo-legal move of the given color to the list as {@link PackedMove} ints.
+	 * Nothing is allocated.
+	 */
+	public static void generateMoves(BoardState state, Color color, MoveList moves) {
+		BitboardPosition bitboards = state.getBoard().getBitboards();
+		long targets = ~bitboards.occupancy(color);
+		int[] array = moves.array();
+		int count = moves.size();
+
+		count = addPawnMoves(state, color, bitboards.pieces(color, PieceType.PAWN), targets, NO_KING, true, array,
+				count);
+		for (PieceType type : PIECE_TYPES) {
+			count = addPieceMoves(bitboards, color, type, targets, 0L, NO_KING, array, count);
+		}
+		count = addPieceMoves(bitboards, color, PieceType.KING, targets, 0L, NO_KING, array, count);
+		moves.setSize(addCastlingMoves(state, color, array, count));
+	}
+
+	/**
+	 * Appends only the legal moves of the given color. Checkers and pinned pieces are computed
+	 * once up front, so no move has to be played to be tested: in check every non-king move must
+	 * capture the checker or block its line, pinned pieces stay on their pin line, and king steps
+	 * are tested with the king lifted off the board. En passant is the one move that removes two
+	 * pieces from a line and is verified against the resulting occupancy.
+	 */
+	public static void generateLegalMoves(BoardState state, Color color, MoveList moves) {
+		moves.setSize(generateLegal(state, color, Stage.ALL, moves.array(), moves.size()));
 	}
 
-	private static List<Move> slideInDirection(Board board, Piece piece, Direction direction) {
-	    List<Move> moves = new ArrayList<>();
-	    int dRow = direction.rowOffset();
-	    int dCol = direction.colOffset();
+	/**
+	 * Same as {@link #generateLegalMoves(BoardState, Color, MoveList)}, writing straight into the
+	 * array from index {@code count} on; returns the new count.
+	 */
+	static int generateLegalMoves(BoardState state, Color color, int[] moves, int count) {
+		return generateLegal(state, color, Stage.ALL, moves, count);
+	}
 
-	    int row = piece.getPosition().getRow();
-	    int col = piece.getPosition().getCol();
+	/**
+	 * Appends the legal captures, en passant included, and every promotion of the given color:
+	 * the moves a quiescence search keeps playing once the nominal depth has run out.
+	 */
+	public static void generateLegalCaptures(BoardState state, Color color, MoveList moves) {
+		moves.setSize(generateLegal(state, color, Stage.CAPTURES, moves.array(), moves.size()));
+	}
 
-	    while (Position.isValid(row + dRow, col + dCol)) {
-	        row += dRow;
-	        col += dCol;
+	/**
+	 * Appends the legal moves that {@link #generateLegalCaptures} leaves out: non-capturing,
+	 * non-promoting moves and castling.
+	 */
+	public static void generateLegalQuiets(BoardState state, Color color, MoveList moves) {
+		moves.setSize(generateLegal(state, color, Stage.QUIETS, moves.array(), moves.size()));
+	}
+
+	private static int generateLegal(BoardState state, Color color, Stage stage, int[] moves, int count) {
+		BitboardPosition bitboards = state.getBoard().getBitboards();
+		int king = bitboards.kingSquare(color);
+		if (king < 0) {
+			throw new IllegalStateException("No king found for color: " + color);
+		}
+
+		Color enemy = color.opposite();
+		long own = bitboards.occupancy(color);
+		long occupied = bitboards.occupied();
+		long checkers = bitboards.attackersTo(king, enemy, occupied);
+		long enemies = bitboards.occupancy(enemy);
+		long stageMask = switch (stage) {
+		case ALL -> ~0L;
+		case CAPTURES -> enemies;
+		case QUIETS -> ~enemies;
+		};
+
+		long kingTargets = AttackTables.kingAttacks(king) & ~own & stageMask;
+		long withoutKing = occupied ^ Bitboard.bit(king);
+		long safeTargets = 0L;
+		while (kingTargets != 0) {
+			int to = Bitboard.lsb(kingTargets);
+			if (!bitboards.isSquareAttacked(to, enemy, withoutKing)) {
+				safeTargets |= Bitboard.bit(to);
+			}
+			kingTargets = Bitboard.popLsb(kingTargets);
+		}
+		count = addTargets(bitboards, color, PieceType.KING, king, safeTargets, moves, count);
 
-	        Position target = new Position(row, col);
-	        Piece targetPiece = board.getPieceAt(target);
+		// Double check: only the king can move
+		if (Bitboard.popLsb(checkers) != 0) {
+			return count;
+		}
 
-	        if (targetPiece == null) {
-	        	moves.add(MoveFactory.normal(piece.getPosition(), target, piece));
-	        } else {
-	            if (targetPiece.getColor() != piece.getColor()) {
-	            	moves.add(MoveFactory.capture(piece.getPosition(), target, piece, targetPiece));
-	            }
-	            break;
-	        }
-	    }
+		long checkMask = checkers == 0 ? ~0L : checkers | AttackTables.between(king, Bitboard.lsb(checkers));
+		long targets = ~own & checkMask & stageMask;
+		long pinned = bitboards.pinnedPieces(color);
+
+		// Pushes onto the last rank count as captures: they promote
+		long pawnTargets = switch (stage) {
+		case ALL -> targets;
+		case CAPTURES -> ~own & checkMask & (enemies | PROMOTION_RANKS);
+		case QUIETS -> targets & ~PROMOTION_RANKS;
+		};
+		boolean enPassant = stage != Stage.QUIETS;
+		long pawns = bitboards.pieces(color, PieceType.PAWN);
+		count = addPawnMoves(state, color, pawns & ~pinned, pawnTargets, king, enPassant, moves, count);
+		long pinnedPawns = pawns & pinned;
+		while (pinnedPawns != 0) {
+			int from = Bitboard.lsb(pinnedPawns);
+			count = addPawnMoves(state, color, Bitboard.bit(from), pawnTargets & AttackTables.line(king, from), king,
+					enPassant, moves, count);
+			pinnedPawns = Bitboard.popLsb(pinnedPawns);
+		}
 
-	    return moves;
+		for (PieceType type : PIECE_TYPES) {
+			count = addPieceMoves(bitboards, color, type, targets, pinned, king, moves, count);
+		}
+		if (checkers == 0 && stage != Stage.CAPTURES) {
+			count = addCastlingMoves(state, color, moves, count);
+		}
+		return count;
 	}
 
+	private static int addPieceMoves(BitboardPosition bitboards, Color color, PieceType type, long targetMask,
+			long pinned, int king, int[] moves, int count) {
+		long pieces = bitboards.pieces(color, type);
+		while (pieces != 0) {
+			int from = Bitboard.lsb(pieces);
+			long targets = AttackTables.attacks(type, color, from, bitboards.occupied()) & targetMask;
+			if (Bitboard.contains(pinned, from)) {
+				targets &= AttackTables.line(king, from);
+			}
+			count = addTargets(bitboards, color, type, from, targets, moves, count);
+			pieces = Bitboard.popLsb(pieces);
+		}
+		return count;
+	}
 
-	public static List<Move> generateJumpingMoves(Board board, Piece piece) {
-		List<Move> moves = new ArrayList<>();
+	private static int addTargets(BitboardPosition bitboards, Color color, PieceType type, int from, long targets,
+			int[] moves, int count) {
+		Color enemy = color.opposite();
+		long enemies = bitboards.occupancy(enemy);
+		while (targets != 0) {
+			int to = Bitboard.lsb(targets);
+			if (Bitboard.contains(enemies, to)) {
+				moves[count++] = PackedMove.of(from, to, PackedMove.CAPTURE, type, bitboards.typeAt(enemy, to));
+			} else {
+				moves[count++] = PackedMove.of(from, to, PackedMove.QUIET, type, null);
+			}
+			targets = Bitboard.popLsb(targets);
+		}
+		return count;
+	}
 
-		for (Direction direction : Direction.KNIGHT_DIRECTIONS) {
-			int row = piece.getPosition().getRow() + direction.rowOffset();
-			int col = piece.getPosition().getCol() + direction.colOffset();
+	/**
+	 * Pawn moves whose destination lies in the target mask, plus en passant when asked for. With a
+	 * king square given, en passant captures are only emitted when they leave that king safe.
+	 */
+	private static int addPawnMoves(BoardState state, Color color, long pawns, long targetMask, int king,
+			boolean enPassant, int[] moves, int count) {
+		BitboardPosition bitboards = state.getBoard().getBitboards();
+		Color enemy = color.opposite();
+		long occupied = bitboards.occupied();
+		long enemies = bitboards.occupancy(enemy);
+		int forward = color == Color.WHITE ? 8 : -8;
+		int startRow = color == Color.WHITE ? 1 : 6;
+		int enPassantSquare = state.getEnPassantSquare();
+
+		while (pawns != 0) {
+			int from = Bitboard.lsb(pawns);
+			pawns = Bitboard.popLsb(pawns);
+
+			// Forward one step, then two from the start rank
+			int oneStep = from + forward;
+			if (oneStep >= 0 && oneStep < 64 && !Bitboard.contains(occupied, oneStep)) {
+				if (Bitboard.contains(targetMask, oneStep)) {
+					count = addPawnMove(from, oneStep, null, moves, count);
+				}
+
+				int twoStep = oneStep + forward;
+				if (Bitboard.row(from) == startRow && !Bitboard.contains(occupied, twoStep)
+						&& Bitboard.contains(targetMask, twoStep)) {
+					moves[count++] = PackedMove.of(from, twoStep, PackedMove.DOUBLE_PUSH, PieceType.PAWN, null);
+				}
+			}
+
+			// Diagonal captures
+			long attacks = AttackTables.pawnAttacks(color, from);
+			long captures = attacks & enemies & targetMask;
+			while (captures != 0) {
+				int to = Bitboard.lsb(captures);
+				count = addPawnMove(from, to, bitboards.typeAt(enemy, to), moves, count);
+				captures = Bitboard.popLsb(captures);
+			}
 
-			if (Position.isValid(row, col)) {
-				Position target = new Position(row, col);
-				Piece targetPiece = board.getPieceAt(target);
-				
-				if (targetPiece == null) {
-					moves.add(MoveFactory.normal(piece.getPosition(), target, piece));
-				} else if (targetPiece.getColor() != piece.getColor()) {
-					moves.add(MoveFactory.capture(piece.getPosition(), target, piece, targetPiece));
+			// En passant
+			if (enPassant && enPassantSquare != BoardState.NO_SQUARE && Bitboard.contains(attacks, enPassantSquare)) {
+				int capturedSquare = Bitboard.square(Bitboard.row(from), Bitboard.col(enPassantSquare));
+				if (Bitboard.contains(bitboards.pieces(enemy, PieceType.PAWN), capturedSquare)
+						&& (king == NO_KING || enPassantLeavesKingSafe(bitboards, color, king, from,
+								enPassantSquare, capturedSquare))) {
+					moves[count++] = PackedMove.of(from, enPassantSquare, PackedMove.EN_PASSANT, PieceType.PAWN,
+							PieceType.PAWN);
 				}
 			}
 		}
+		return count;
+	}
 
-		return moves;
+	/**
+	 * En passant empties two squares at once, which can expose the king along the rank even when
+	 * neither pawn is pinned on its own. The capture is replayed on the occupancy and every
+	 * attacker of the king, other than the pawn being taken, is looked up again.
+	 */
+	private static boolean enPassantLeavesKingSafe(BitboardPosition bitboards, Color color, int king, int from,
+			int to, int capturedSquare) {
+		long occupied = (bitboards.occupied() ^ Bitboard.bit(from) ^ Bitboard.bit(capturedSquare)) | Bitboard.bit(to);
+		return (bitboards.attackersTo(king, color.opposite(), occupied) & ~Bitboard.bit(capturedSquare)) == 0;
 	}
-	
-	public static List<Move> generatePawnMoves(BoardState state, Piece piece) {
-	    Board board = state.getBoard();
-	    List<Move> moves = new ArrayList<>();
-
-	    Position from = piece.getPosition();
-	    Color color = piece.getColor();
-	    int row = from.getRow();
-	    int col = from.getCol();
-
-	    int direction = color == Color.WHITE ? 1 : -1;
-	    int startRow = color == Color.WHITE ? 1 : 6;
-	    Color enemyColor = color.opposite();
-
-	    // Forward one step
-	    Position oneStep = Position.of(row + direction, col);
-	    if (Position.isValid(oneStep) && board.getPieceAt(oneStep) == null) {
-	        addMoveOrPromotion(moves, from, oneStep, piece, null);
-
-	        if (row == startRow) {
-	            Position twoStep = Position.of(row + 2 * direction, col);
-	            if (board.getPieceAt(twoStep) == null) {
-	                moves.add(MoveFactory.normal(from, twoStep, piece));
-	            }
-	        }
-	    }
-
-	    // Diagonal captures
-	    Position[] captures = {
-	        Position.of(row + direction, col - 1),
-	        Position.of(row + direction, col + 1)
-	    };
-
-	    for (Position target : captures) {
-	        if (Position.isValid(target)) {
-	            Piece targetPiece = board.getPieceAt(target);
-	            if (targetPiece != null && targetPiece.getColor() == enemyColor) {
-	                addMoveOrPromotion(moves, from, target, piece, targetPiece);
-	            }
-	        }
-	    }
-
-	    // En passant
-	    Position enPassantTarget = state.getEnPassantTarget();
-	    if (enPassantTarget != null &&
-	        Math.abs(enPassantTarget.getCol() - col) == 1 &&
-	        enPassantTarget.getRow() == row + direction) {
-
-	        Piece capturedPawn = board.getPieceAt(Position.of(row, enPassantTarget.getCol()));
-	        if (capturedPawn != null && capturedPawn.getColor() == enemyColor && capturedPawn instanceof Pawn) {
-	            moves.add(MoveFactory.enPassant(from, enPassantTarget, piece, capturedPawn));
-	        }
-	    }
-
-	    return moves;
-	}
-
-
-	private static void addMoveOrPromotion(List<Move> moves, Position from, Position to, Piece pawn, Piece captured) {
-	    int promotionRow = (pawn.getColor() == Color.WHITE) ? 7 : 0;
-
-	    if (to.getRow() == promotionRow) {
-	    	List<Piece> promotionOptions = List.of(
-		            new Queen(pawn.getColor()),
-		            new Rook(pawn.getColor()),
-		            new Bishop(pawn.getColor()),
-		            new Knight(pawn.getColor()));
-
-			for (Piece promoted : promotionOptions) {
-				moves.add(MoveFactory.promotion(from, to, pawn, promoted));
+
+	private static int addPawnMove(int from, int to, PieceType captured, int[] moves, int count) {
+		int row = Bitboard.row(to);
+		if (row == 0 || row == 7) {
+			for (PieceType promotion : PROMOTION_TYPES) {
+				moves[count++] = PackedMove.of(from, to, PackedMove.promotionFlags(promotion, captured != null),
+						PieceType.PAWN, captured);
 			}
-	    } else if (captured == null) {
-	        moves.add(MoveFactory.normal(from, to, pawn));
-	    } else {
-	        moves.add(MoveFactory.capture(from, to, pawn, captured));
-	    }
+		} else {
+			moves[count++] = PackedMove.of(from, to, captured == null ? PackedMove.QUIET : PackedMove.CAPTURE,
+					PieceType.PAWN, captured);
+		}
+		return count;
 	}
 
-	public static List<Move> generateKingMoves(BoardState state, Piece king) {
-		List<Move> moves = new ArrayList<>();
-		Board board = state.getBoard();
-		
-		// Normal moves
-		for (Direction direction : Direction.KING_DIRECTIONS) {
-			int row = king.getPosition().getRow() + direction.rowOffset();
-			int col = king.getPosition().getCol() + direction.colOffset();
-			
-			if (Position.isValid(row, col)) {
-				Position target = new Position(row, col);
-				Piece targetPiece = board.getPieceAt(target);
-				
-				if (targetPiece == null) {
-					moves.add(MoveFactory.normal(king.getPosition(), target, king));
-				} else if (targetPiece.getColor() != king.getColor()) {
-					moves.add(MoveFactory.capture(king.getPosition(), target, king, targetPiece));
-				}
+	private static int addCastlingMoves(BoardState state, Color color, int[] moves, int count) {
+		int kingFrom = color == Color.WHITE ? 4 : 60;
+		if (canCastle(state, color, true)) {
+			moves[count++] = PackedMove.of(kingFrom, kingFrom + 2, PackedMove.KING_CASTLE, PieceType.KING, null);
+		}
+		if (canCastle(state, color, false)) {
+			moves[count++] = PackedMove.of(kingFrom, kingFrom - 2, PackedMove.QUEEN_CASTLE, PieceType.KING, null);
+		}
+		return count;
+	}
+
+	/**
+	 * Whether the right is held, king and rook are home, the squares between them are empty and
+	 * the king neither starts on, passes over nor lands on an attacked square.
+	 */
+	private static boolean canCastle(BoardState state, Color color, boolean kingside) {
+		BitboardPosition bitboards = state.getBoard().getBitboards();
+		int kingFrom = color == Color.WHITE ? 4 : 60;
+		int right = color == Color.WHITE
+				? (kingside ? CastlingRights.WHITE_KINGSIDE : CastlingRights.WHITE_QUEENSIDE)
+				: (kingside ? CastlingRights.BLACK_KINGSIDE : CastlingRights.BLACK_QUEENSIDE);
+		if ((state.getCastlingRights().toBits() & right) == 0
+				|| !Bitboard.contains(bitboards.pieces(color, PieceType.KING), kingFrom)) {
+			return false;
+		}
+
+		int step = kingside ? 1 : -1;
+		int rookFrom = kingside ? kingFrom + 3 : kingFrom - 4;
+		if (!Bitboard.contains(bitboards.pieces(color, PieceType.ROOK), rookFrom)
+				|| (AttackTables.between(kingFrom, rookFrom) & bitboards.occupied()) != 0) {
+			return false;
+		}
+
+		Color enemy = color.opposite();
+		return !state.isAttackedBy(kingFrom, enemy)
+				&& !state.isAttackedBy(kingFrom + step, enemy)
+				&& !state.isAttackedBy(kingFrom + 2 * step, enemy);
+	}
+
+	/**
+	 * Whether the move could be played by the side to move if its own king's safety is ignored:
+	 * the right piece stands on the origin, the destination is reachable given the occupancy, and
+	 * the capture, en passant, castling and promotion flags agree with the board. Used to vet
+	 * moves that come from somewhere other than the generator, such as hash and killer moves.
+	 */
+	public static boolean isPseudoLegal(BoardState state, int move) {
+		if (move == PackedMove.NONE) {
+			return false;
+		}
+		BitboardPosition bitboards = state.getBoard().getBitboards();
+		Color color = state.getCurrentTurn();
+		Color enemy = color.opposite();
+		int from = PackedMove.from(move);
+		int to = PackedMove.to(move);
+		PieceType type = PackedMove.movedType(move);
+		PieceType captured = PackedMove.capturedType(move);
+		long occupied = bitboards.occupied();
+		if (!Bitboard.contains(bitboards.pieces(color, type), from) || Bitboard.contains(bitboards.occupancy(color), to)) {
+			return false;
+		}
+
+		if (PackedMove.isCastling(move)) {
+			boolean kingside = PackedMove.flags(move) == PackedMove.KING_CASTLE;
+			return type == PieceType.KING && to == from + (kingside ? 2 : -2) && canCastle(state, color, kingside);
+		}
+		if (PackedMove.isEnPassant(move)) {
+			int capturedSquare = Bitboard.square(Bitboard.row(from), Bitboard.col(to));
+			return type == PieceType.PAWN && to == state.getEnPassantSquare()
+					&& Bitboard.contains(AttackTables.pawnAttacks(color, from), to)
+					&& Bitboard.contains(bitboards.pieces(enemy, PieceType.PAWN), capturedSquare);
+		}
+		if (captured != bitboards.typeAt(enemy, to) || PackedMove.isCapture(move) != (captured != null)) {
+			return false;
+		}
+
+		if (type == PieceType.PAWN) {
+			int row = Bitboard.row(to);
+			if (PackedMove.isPromotion(move) != (row == 0 || row == 7)) {
+				return false;
+			}
+			if (captured != null) {
+				return Bitboard.contains(AttackTables.pawnAttacks(color, from), to);
+			}
+			int forward = color == Color.WHITE ? 8 : -8;
+			if (PackedMove.flags(move) == PackedMove.DOUBLE_PUSH) {
+				int startRow = color == Color.WHITE ? 1 : 6;
+				return Bitboard.row(from) == startRow && to == from + 2 * forward
+						&& !Bitboard.contains(occupied, from + forward) && !Bitboard.contains(occupied, to);
+			}
+			return to == from + forward && !Bitboard.contains(occupied, to);
+		}
+		if (PackedMove.isPromotion(move) || PackedMove.flags(move) == PackedMove.DOUBLE_PUSH) {
+			return false;
+		}
+		return Bitboard.contains(AttackTables.attacks(type, color, from, occupied), to);
+	}
+
+	/**
+	 * Whether the move is legal for the side to move, decided from the board alone: a
+	 * {@link #isPseudoLegal} test, then the same check and pin rules {@link #generateLegalMoves}
+	 * applies. Nothing is played, copied or allocated, and the state is left untouched.
+	 */
+	public static boolean isLegal(BoardState state, int move) {
+		if (!isPseudoLegal(state, move)) {
+			return false;
+		}
+		BitboardPosition bitboards = state.getBoard().getBitboards();
+		Color color = state.getCurrentTurn();
+		Color enemy = color.opposite();
+		int from = PackedMove.from(move);
+		int to = PackedMove.to(move);
+		int king = bitboards.kingSquare(color);
+		long occupied = bitboards.occupied();
+
+		if (PackedMove.isCastling(move)) {
+			// canCastle has already tested every square the king crosses
+			return true;
+		}
+		if (from == king) {
+			return !bitboards.isSquareAttacked(to, enemy, occupied ^ Bitboard.bit(from));
+		}
+		if (PackedMove.isEnPassant(move)) {
+			int capturedSquare = Bitboard.square(Bitboard.row(from), Bitboard.col(to));
+			long after = occupied ^ Bitboard.bit(from) ^ Bitboard.bit(to) ^ Bitboard.bit(capturedSquare);
+			return (bitboards.attackersTo(king, enemy, after) & ~Bitboard.bit(capturedSquare)) == 0;
+		}
+
+		long checkers = bitboards.attackersTo(king, enemy, occupied);
+		if (checkers != 0) {
+			if (Bitboard.popLsb(checkers) != 0) {
+				return false;
+			}
+			long checkMask = checkers | AttackTables.between(king, Bitboard.lsb(checkers));
+			if (!Bitboard.contains(checkMask, to)) {
+				return false;
 			}
 		}
-		
-		// Castling moves
-	    Position from = king.getPosition();
-
-	    // Kingside and queenside castling destinations
-	    int row = from.getRow();
-	    List<Position> castleDestinations = List.of(
-	        Position.of(row, 6),
-	        Position.of(row, 2) 
-	    );
-	    
-	    SpecialMoveService specialMoveService = state.getSpecialMoveService();
-	    for (Position to : castleDestinations) {
-	        if (specialMoveService.getCastlingMoveHandler().canHandle(king, from, to)) {
-	            Move castleMove = specialMoveService.getCastlingMoveHandler().handle(state, king, from, to);
-	            if (castleMove != null) {
-	                moves.add(castleMove);
-	            }
-	        }
-	    }
-	    
+		return !Bitboard.contains(bitboards.pinnedPieces(color), from)
+				|| Bitboard.contains(AttackTables.line(king, from), to);
+	}
+
+	public static List<Move> generateSlidingMoves(Board board, Piece piece, Position from, Direction[] directions) {
+		BitboardPosition bitboards = board.getBitboards();
+		long targets = AttackTables.slidingAttacks(from.getSquare(), bitboards.occupied(), directions);
+		return toMoves(board, piece, from, targets & ~bitboards.occupancy(piece.getColor()));
+	}
+
+	public static List<Move> generateJumpingMoves(Board board, Piece piece, Position from) {
+		BitboardPosition bitboards = board.getBitboards();
+		long targets = AttackTables.knightAttacks(from.getSquare()) & ~bitboards.occupancy(piece.getColor());
+		return toMoves(board, piece, from, targets);
+	}
+
+	private static List<Move> toMoves(Board board, Piece piece, Position from, long targets) {
+		List<Move> moves = new ArrayList<>(Bitboard.count(targets));
+		while (targets != 0) {
+			int target = Bitboard.lsb(targets);
+			Piece targetPiece = board.getPieceAt(target);
+			if (targetPiece == null) {
+				moves.add(MoveFactory.normal(from, Position.of(target), piece));
+			} else {
+				moves.add(MoveFactory.capture(from, Position.of(target), piece, targetPiece));
+			}
+			targets = Bitboard.popLsb(targets);
+		}
 		return moves;
 	}
-	
-	// @formatter:off
-	private static final Map<Class<?>, BiFunction<BoardState, Piece, List<Move>>> MOVE_GENERATORS = Map.of(
-		    Rook.class,   (state, piece) -> generateSlidingMoves(state.getBoard(), piece, Direction.ROOK_DIRECTIONS),
-		    Bishop.class, (state, piece) -> generateSlidingMoves(state.getBoard(), piece, Direction.BISHOP_DIRECTIONS),
-		    Queen.class,  (state, piece) -> {
-		        List<Move> moves = new ArrayList<>(generateSlidingMoves(state.getBoard(), piece, Direction.ROOK_DIRECTIONS));
-		        moves.addAll(generateSlidingMoves(state.getBoard(), piece, Direction.BISHOP_DIRECTIONS));
-		        return moves;
-		    },
-		    Knight.class, (state, piece) -> generateJumpingMoves(state.getBoard(), piece),
-		    Pawn.class,   (state, piece) -> generatePawnMoves(state, (Pawn) piece) 
-		);
-
-	public static List<Move> generateMoves(BoardState state, Piece piece) {
-	    if (piece instanceof King) {
-	        return generateKingMoves(state, piece);
-	    }
-
-	    return MOVE_GENERATORS
-	        .getOrDefault(piece.getClass(), (b, p) -> List.of())
-	        .apply(state, piece);
-	}
-	// @formatter:on
+
+	private static List<Move> toMoves(BoardState state, int[] packed, int count) {
+		List<Move> moves = new ArrayList<>(count);
+		for (int i = 0; i < count; i++) {
+			moves.add(PackedMove.toMove(state, packed[i]));
+		}
+		return moves;
+	}
+
+	public static List<Move> generatePawnMoves(BoardState state, Piece piece, Position from) {
+		int[] moves = new int[MoveList.MAX_MOVES];
+		int count = addPawnMoves(state, piece.getColor(), Bitboard.bit(from.getSquare()), ~0L, NO_KING, true, moves, 0);
+		return toMoves(state, moves, count);
+	}
+
+	public static List<Move> generateKingMoves(BoardState state, Piece king, Position position) {
+		BitboardPosition bitboards = state.getBoard().getBitboards();
+		Color color = king.getColor();
+		int from = position.getSquare();
+
+		int[] moves = new int[MoveList.MAX_MOVES];
+		int count = addTargets(bitboards, color, PieceType.KING, from,
+				AttackTables.kingAttacks(from) & ~bitboards.occupancy(color), moves, 0);
+		if (from == bitboards.kingSquare(color)) {
+			count = addCastlingMoves(state, color, moves, count);
+		}
+		return toMoves(state, moves, count);
+	}
+
+	/**
+	 * Pseudo-legal moves of the piece standing on {@code from}.
+	 */
+	public static List<Move> generateMoves(BoardState state, Piece piece, Position from) {
+		Board board = state.getBoard();
+		return switch (piece.getPieceType()) {
+		case ROOK -> generateSlidingMoves(board, piece, from, Direction.ROOK_DIRECTIONS);
+		case BISHOP -> generateSlidingMoves(board, piece, from, Direction.BISHOP_DIRECTIONS);
+		case QUEEN -> generateSlidingMoves(board, piece, from, Direction.QUEEN_DIRECTIONS);
+		case KNIGHT -> generateJumpingMoves(board, piece, from);
+		case PAWN -> generatePawnMoves(state, piece, from);
+		case KING -> generateKingMoves(state, piece, from);
+		};
+	}
 
 }
@@ -0,0 +1,77 @@
+package dev.markconley.chess.engine.move;
+
+/**
+ * Reusable buffer of {@link PackedMove} ints. Generators append to it; callers {@link #clear()}
+ * and refill it rather than allocating a new list per position.
+ */
+public final class MoveList {
+
+	public static final int MAX_MOVES = 256;
+
+	private final int[] moves;
+	private int size;
+
+	public MoveList() {
+		this(MAX_MOVES);
+	}
+
+	public MoveList(int capacity) {
+		this.moves = new int[capacity];
+	}
+
+	public void add(int move) {
+		moves[size++] = move;
+	}
+
+	public int get(int index) {
+		return moves[index];
+	}
+
+	public void set(int index, int move) {
+		moves[index] = move;
+	}
+
+	public void swap(int i, int j) {
+		int tmp = moves[i];
+		moves[i] = moves[j];
+		moves[j] = tmp;
+	}
+
+	/**
+	 * Removes the move at the index by moving the last move into its slot. Order is not kept.
+	 */
+	public void removeAt(int index) {
+		moves[index] = moves[--size];
+	}
+
+	public boolean contains(int move) {
+		for (int i = 0; i < size; i++) {
+			if (moves[i] == move) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	public int size() {
+		return size;
+	}
+
+	public boolean isEmpty() {
+		return size == 0;
+	}
+
+	public void clear() {
+		size = 0;
+	}
+
+	// The generator appends straight into the backing array and then sets the new size
+	int[] array() {
+		return moves;
+	}
+
+	void setSize(int size) {
+		this.size = size;
+	}
+
+}
@@ -0,0 +1,176 @@
+package dev.markconley.chess.engine.move;
+
+import dev.markconley.chess.engine.bitboard.Bitboard;
+import dev.markconley.chess.engine.board.Board;
+import dev.markconley.chess.engine.core.Color;
+import dev.markconley.chess.engine.core.Position;
+import dev.markconley.chess.engine.pieces.Piece;
+import dev.markconley.chess.engine.pieces.PieceType;
+import dev.markconley.chess.engine.state.BoardState;
+
+/**
+ * Moves packed into an int. The low 16 bits are the usual from/to/flags encoding; the next bits
+ * carry the moving and captured piece types so ordering code never has to look at the board.
+ *
+ * <pre>
+ *  bits  0-5   from square
+ *  bits  6-11  to square
+ *  bits 12-15  flags (see constants)
+ *  bits 16-18  moving piece type ordinal
+ *  bits 19-21  captured piece type ordinal + 1, 0 when nothing is captured
+ * </pre>
+ */
+public final class PackedMove {
+
+	public static final int NONE = 0;
+
+	public static final int QUIET = 0;
+	public static final int DOUBLE_PUSH = 1;
+	public static final int KING_CASTLE = 2;
+	public static final int QUEEN_CASTLE = 3;
+	public static final int CAPTURE = 4;
+	public static final int EN_PASSANT = 5;
+	public static final int PROMOTION = 8;
+	public static final int PROMOTION_CAPTURE = 12;
+
+	private static final int TO_SHIFT = 6;
+	private static final int FLAGS_SHIFT = 12;
+	private static final int PIECE_SHIFT = 16;
+	private static final int CAPTURED_SHIFT = 19;
+
+	private static final PieceType[] TYPES = PieceType.values();
+	private static final PieceType[] PROMOTION_TYPES = {
+			PieceType.KNIGHT, PieceType.BISHOP, PieceType.ROOK, PieceType.QUEEN };
+
+	private PackedMove() { } // Utility class
+
+	public static int of(int from, int to, int flags, PieceType moved, PieceType captured) {
+		return from
+				| (to << TO_SHIFT)
+				| (flags << FLAGS_SHIFT)
+				| (moved.ordinal() << PIECE_SHIFT)
+				| (captured == null ? 0 : (captured.ordinal() + 1) << CAPTURED_SHIFT);
+	}
+
+	/**
+	 * Promotion flags for the given piece, with or without a capture.
+	 */
+	public static int promotionFlags(PieceType promotion, boolean capture) {
+		int base = capture ? PROMOTION_CAPTURE : PROMOTION;
+		return switch (promotion) {
+		case KNIGHT -> base;
+		case BISHOP -> base | 1;
+		case ROOK -> base | 2;
+		case QUEEN -> base | 3;
+		default -> throw new IllegalArgumentException("Cannot promote to " + promotion);
+		};
+	}
+
+	public static int from(int move) {
+		return move & 0x3F;
+	}
+
+	public static int to(int move) {
+		return (move >>> TO_SHIFT) & 0x3F;
+	}
+
+	public static int flags(int move) {
+		return (move >>> FLAGS_SHIFT) & 0xF;
+	}
+
+	public static PieceType movedType(int move) {
+		return TYPES[(move >>> PIECE_SHIFT) & 0x7];
+	}
+
+	public static PieceType capturedType(int move) {
+		int captured = (move >>> CAPTURED_SHIFT) & 0x7;
+		return captured == 0 ? null : TYPES[captured - 1];
+	}
+
+	public static boolean isCapture(int move) {
+		return (flags(move) & CAPTURE) != 0;
+	}
+
+	public static boolean isPromotion(int move) {
+		return (flags(move) & PROMOTION) != 0;
+	}
+
+	public static boolean isEnPassant(int move) {
+		return flags(move) == EN_PASSANT;
+	}
+
+	public static boolean isCastling(int move) {
+		int flags = flags(move);
+		return flags == KING_CASTLE || flags == QUEEN_CASTLE;
+	}
+
+	public static PieceType promotionType(int move) {
+		return isPromotion(move) ? PROMOTION_TYPES[flags(move) & 3] : null;
+	}
+
+	public static Piece createPiece(PieceType type, Color color) {
+		return switch (type) {
+		case QUEEN, ROOK, BISHOP, KNIGHT -> Piece.of(color, type);
+		default -> throw new IllegalArgumentException("Cannot create promotion piece " + type);
+		};
+	}
+
+	/**
+	 * Expands a packed move into a {@link Move} referencing the pieces currently on the board.
+	 */
+	public static Move toMove(BoardState state, int move) {
+		Board board = state.getBoard();
+		int from = from(move);
+		int to = to(move);
+		Position fromPos = Bitboard.toPosition(from);
+		Position toPos = Bitboard.toPosition(to);
+		Piece moved = board.getPieceAt(from);
+
+		Piece captured = isEnPassant(move)
+				? board.getPieceAt(Bitboard.square(Bitboard.row(from), Bitboard.col(to)))
+				: board.getPieceAt(to);
+		Piece promotion = isPromotion(move) ? createPiece(promotionType(move), moved.getColor()) : null;
+
+		return new Move(fromPos, toPos, moved, captured, isCastling(move), isEnPassant(move), promotion);
+	}
+
+	public static int fromMove(Move move) {
+		int from = Bitboard.square(move.from());
+		int to = Bitboard.square(move.to());
+		PieceType moved = move.movedPiece().getPieceType();
+		PieceType captured = move.isCapture() ? move.capturedPiece().getPieceType() : null;
+
+		int flags;
+		if (move.isCastling()) {
+			flags = to > from ? KING_CASTLE : QUEEN_CASTLE;
+		} else if (move.isEnPassant()) {
+			flags = EN_PASSANT;
+		} else if (move.isPromotion()) {
+			flags = promotionFlags(move.promotionPiece().getPieceType(), move.isCapture());
+		} else if (move.isCapture()) {
+			flags = CAPTURE;
+		} else if (moved == PieceType.PAWN && Math.abs(to - from) == 16) {
+			flags = DOUBLE_PUSH;
+		} else {
+			flags = QUIET;
+		}
+		return of(from, to, flags, moved, captured);
+	}
+
+	/**
+	 * Coordinate notation, e.g. {@code e2e4} or {@code e7e8q}.
+	 */
+	public static String toString(int move) {
+		String text = Bitboard.toPosition(from(move)).toAlgebraic() + Bitboard.toPosition(to(move)).toAlgebraic();
+		if (isPromotion(move)) {
+			text += switch (promotionType(move)) {
+			case KNIGHT -> "n";
+			case BISHOP -> "b";
+			case ROOK -> "r";
+			default -> "q";
+			};
+		}
+		return text;
+	}
+
+}
@@ -1,5 +1,8 @@
 package dev.markconley.chess.engine.move.handler;
 
+import dev.markconley.chess.engine.bitboard.AttackTables;
+import dev.markconley.chess.engine.bitboard.Bitboard;
+import dev.markconley.chess.engine.bitboard.BitboardPosition;
 import dev.markconley.chess.engine.core.Color;
 import dev.markconley.chess.engine.core.Position;
 import dev.markconley.chess.engine.move.Move;
@@ -13,6 +16,8 @@ import dev.markconley.chess.engine.state.CastlingRights;
 public class CastlingMoveHandler implements SimpleMoveHandler {
 	
 	private static final CastlingMoveHandler INSTANCE = new CastlingMoveHandler();
+	private static final int WHITE_KING_HOME = 4;
+	private static final int BLACK_KING_HOME = 60;
 
 	private CastlingMoveHandler() { }
 
@@ -33,76 +38,51 @@ public class CastlingMoveHandler implements SimpleMoveHandler {
 		return MoveFactory.castle(from, to, piece);
 	}
 
-    private boolean isValidCastle(BoardState state, Color color, Position from, Position to) {
-        
-	    boolean hasCastlingRights =  hasCastlingRights(state, color, to);
-	    boolean isPathClear = isPathClear(state, color, from, to);
-	    boolean isKingNotInCheck = isKingNotInCheck(state, color, from);
-	    boolean areCastlingSquaresSafe = areCastlingSquaresSafe(state, color, from, to);
-	    
-	    return hasCastlingRights && isPathClear && isKingNotInCheck && areCastlingSquaresSafe; 
-    }
-
-	private boolean hasCastlingRights(BoardState state, Color color, Position to) {
-		CastlingRights rights = state.getCastlingRights();
+	private boolean isValidCastle(BoardState state, Color color, Position from, Position to) {
+		int kingFrom = Bitboard.square(from);
+		int kingTo = Bitboard.square(to);
+		BitboardPosition bitboards = state.getBoard().getBitboards();
 
-		if (color == Color.WHITE) {
-			if (to.equals(Position.of(0, 6))) {
-				return rights.whiteCanCastleKingside();
-			}
-			if (to.equals(Position.of(0, 2))) {
-				return rights.whiteCanCastleQueenside();
-			}
-		} else {
-			if (to.equals(Position.of(7, 6))) {
-				return rights.blackCanCastleKingside();
-			}
-			if (to.equals(Position.of(7, 2))) {
-				return rights.blackCanCastleQueenside();
-			}
-		}
-		return false;
+		return hasCastlingRights(state, color, kingTo)
+				&& isPathClear(bitboards, kingFrom, kingTo)
+				&& isKingNotInCheck(state, color, kingFrom)
+				&& areCastlingSquaresSafe(state, color, kingFrom, kingTo);
 	}
 
-	private boolean isPathClear(BoardState state, Color color, Position from, Position to) {
-		int row = color == Color.WHITE ? 0 : 7;
-		int startCol = 4;
-		int endCol = to.getCol();
-		int step = (endCol - startCol) / Math.abs(endCol - startCol);
+	private boolean hasCastlingRights(BoardState state, Color color, int to) {
+		CastlingRights rights = state.getCastlingRights();
+		int home = color == Color.WHITE ? WHITE_KING_HOME : BLACK_KING_HOME;
 
-		for (int col = startCol + step; col != endCol; col += step) {
-			if (state.getBoard().getPieceAt(Position.of(row, col)) != null) {
-				return false;
-			}
+		if (to == home + 2) {
+			return color == Color.WHITE ? rights.whiteCanCastleKingside() : rights.blackCanCastleKingside();
 		}
-		return true;
+		if (to == home - 2) {
+			return color == Color.WHITE ? rights.whiteCanCastleQueenside() : rights.blackCanCastleQueenside();
+		}
+		return false;
 	}
-    
-    private boolean isKingNotInCheck(BoardState state, Color color, Position from) {
-        return !state.isSquareAttacked(from, color);
-    }
 
-	private boolean areCastlingSquaresSafe(BoardState state, Color color, Position from, Position to) {
-		int row = from.getRow();
-		int step = (to.getCol() - from.getCol()) / 2;
+	// Every square between king and rook must be empty, including b1/b8 on the queenside
+	private boolean isPathClear(BitboardPosition bitboards, int from, int to) {
+		int rook = to > from ? from + 3 : from - 4;
+		return (AttackTables.between(from, rook) & bitboards.occupied()) == 0;
+	}
 
-		Position intermediate = Position.of(row, from.getCol() + step);
-		Position destination = to;
+	private boolean isKingNotInCheck(BoardState state, Color color, int from) {
+		return !state.isAttackedBy(from, color.opposite());
+	}
 
-		return !state.isSquareAttacked(intermediate, color)
-				&& !state.isSquareAttacked(destination, color);
+	private boolean areCastlingSquaresSafe(BoardState state, Color color, int from, int to) {
+		int intermediate = (from + to) / 2;
+		return !state.isAttackedBy(intermediate, color.opposite())
+				&& !state.isAttackedBy(to, color.opposite());
 	}
-    
+
 	public void updateCastlingRightsOnMove(BoardState state, Piece piece, Position from) {
 		CastlingRights rights = state.getCastlingRights();
 
 		if (piece instanceof Rook) {
-			int row = piece.getColor() == Color.WHITE ? 0 : 7;
-			if (from.equals(Position.of(row, 0))) {
-				rights.disableQueenside(piece.getColor());
-			} else if (from.equals(Position.of(row, 7))) {
-				rights.disableKingside(piece.getColor());
-			}
+			disableRookSide(rights, piece.getColor(), Bitboard.square(from));
 		} else if (piece instanceof King) {
 			rights.disableAll(piece.getColor());
 		}
@@ -112,15 +92,16 @@ public class CastlingMoveHandler implements SimpleMoveHandler {
 		if (!(capturedPiece instanceof Rook)) {
 			return;
 		}
+		disableRookSide(state.getCastlingRights(), capturedPiece.getColor(), Bitboard.square(to));
+	}
 
-		CastlingRights rights = state.getCastlingRights();
-		int row = capturedPiece.getColor() == Color.WHITE ? 0 : 7;
-
-		if (to.equals(Position.of(row, 0))) {
-			rights.disableQueenside(capturedPiece.getColor());
-		} else if (to.equals(Position.of(row, 7))) {
-			rights.disableKingside(capturedPiece.getColor());
+	private void disableRookSide(CastlingRights rights, Color color, int square) {
+		int king = color == Color.WHITE ? WHITE_KING_HOME : BLACK_KING_HOME;
+		if (square == king - 4) {
+			rights.disableQueenside(color);
+		} else if (square == king + 3) {
+			rights.disableKingside(color);
 		}
 	}
-	
+
 }
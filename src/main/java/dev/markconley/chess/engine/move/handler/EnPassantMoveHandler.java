@@ -81,7 +81,6 @@ public class EnPassantMoveHandler implements SimpleMoveHandler {
 			Position capturedPawnPos) {
 		board.setPieceAt(capturedPawnPos, null);
 		board.setPieceAt(to, capturingPawn);
-		capturingPawn.setPosition(to);
 		board.setPieceAt(from, null);
 	}
 
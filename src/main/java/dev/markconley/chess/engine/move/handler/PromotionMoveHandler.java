@@ -36,7 +36,6 @@ public class PromotionMoveHandler implements PromotionHandler {
     public Move handle(BoardState state, Piece piece, Position from, Position to, PromotionStrategy strategy) {
     	Board board = state.getBoard();
         Piece promoted = strategy.choosePromotion(piece.getColor());
-        promoted.setPosition(to);
         board.setPieceAt(to, promoted);
         board.setPieceAt(from, null);
         return MoveFactory.promotion(from, to, piece, promoted);
@@ -2,11 +2,11 @@ package dev.markconley.chess.engine.move.promotion;
 
 import dev.markconley.chess.engine.core.Color;
 import dev.markconley.chess.engine.pieces.Piece;
-import dev.markconley.chess.engine.pieces.Queen;
+import dev.markconley.chess.engine.pieces.PieceType;
 
 public class QueenPromotionStrategy implements PromotionStrategy {
 	@Override
 	public Piece choosePromotion(Color color) {
-		return new Queen(color);
+		return Piece.of(color, PieceType.QUEEN);
 	}
 }
\ No newline at end of file
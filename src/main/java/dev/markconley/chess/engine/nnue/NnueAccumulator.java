@@ -0,0 +1,143 @@
+package dev.markconley.chess.engine.nnue;
+
+import dev.markconley.chess.engine.bitboard.Bitboard;
+import dev.markconley.chess.engine.bitboard.BitboardPosition;
+import dev.markconley.chess.engine.bitboard.PlacementListener;
+import dev.markconley.chess.engine.core.Color;
+import dev.markconley.chess.engine.state.BoardState;
+
+/**
+ * Input-layer state of an {@link NnueNetwork} for one position, one accumulator per side.
+ * It listens to the position's {@link BitboardPosition}, so every piece that
+ * {@link dev.markconley.chess.engine.move.MoveExecutor} places or lifts on make and unmake adds
+ * or subtracts one weight row per side. A king move changes every feature of its own side, so
+ * that side is only marked stale and rebuilt from the board on the next evaluation.
+ *
+ * <p>Evaluation reuses preallocated buffers and allocates nothing. Not thread safe; each search
+ * thread attaches its own accumulator to its own position.
+ */
+public final class NnueAccumulator implements PlacementListener {
+
+	private final NnueNetwork network;
+	private final NnueKernels kernels;
+	private final BitboardPosition bitboards;
+	private final short[][] accumulators;
+	private final boolean[] stale = new boolean[2];
+
+	private final int[] input;
+	private final int[] l1Output = new int[NnueNetwork.L1_SIZE];
+	private final int[] l2Output = new int[NnueNetwork.L2_SIZE];
+
+	/**
+	 * Attaches a new accumulator to the state's board.
+	 */
+	public NnueAccumulator(NnueNetwork network, BoardState state) {
+		this(network, state, NnueKernels.best());
+	}
+
+	NnueAccumulator(NnueNetwork network, BoardState state, NnueKernels kernels) {
+		this.network = network;
+		this.kernels = kernels;
+		this.bitboards = state.getBoard().getBitboards();
+		this.accumulators = new short[2][network.hiddenSize()];
+		this.input = new int[2 * network.hiddenSize()];
+		bitboards.addListener(this);
+		placementReset();
+	}
+
+	/**
+	 * Stops following the board.
+	 */
+	public void detach() {
+		bitboards.removeListener(this);
+	}
+
+	@Override
+	public void pieceAdded(int pieceIndex, int square) {
+		update(pieceIndex, square, true);
+	}
+
+	@Override
+	public void pieceRemoved(int pieceIndex, int square) {
+		update(pieceIndex, square, false);
+	}
+
+	@Override
+	public void placementReset() {
+		stale[Color.WHITE.ordinal()] = true;
+		stale[Color.BLACK.ordinal()] = true;
+	}
+
+	private void update(int pieceIndex, int square, boolean added) {
+		if (NnueNetwork.isKing(pieceIndex)) {
+			stale[pieceIndex / BitboardPosition.PIECE_TYPES] = true;
+			return;
+		}
+		for (Color perspective : Color.values()) {
+			int side = perspective.ordinal();
+			if (stale[side]) {
+				continue;
+			}
+			int row = NnueNetwork.featureIndex(perspective, bitboards.kingSquare(perspective), pieceIndex, square)
+					* network.hiddenSize();
+			if (added) {
+				kernels.add(accumulators[side], network.featureWeights, row);
+			} else {
+				kernels.subtract(accumulators[side], network.featureWeights, row);
+			}
+		}
+	}
+
+	/**
+	 * Rebuilds one side's accumulator from the biases and every non-king piece on the board.
+	 */
+	private void refresh(Color perspective) {
+		short[] accumulator = accumulators[perspective.ordinal()];
+		System.arraycopy(network.featureBiases, 0, accumulator, 0, accumulator.length);
+		int king = bitboards.kingSquare(perspective);
+		if (king < 0) {
+			throw new IllegalStateException("No king found for color: " + perspective);
+		}
+		for (int piece = 0; piece < 2 * BitboardPosition.PIECE_TYPES; piece++) {
+			if (NnueNetwork.isKing(piece)) {
+				continue;
+			}
+			long bb = bitboards.pieces(piece);
+			while (bb != 0) {
+				int row = NnueNetwork.featureIndex(perspective, king, piece, Bitboard.lsb(bb)) * network.hiddenSize();
+				kernels.add(accumulator, network.featureWeights, row);
+				bb = Bitboard.popLsb(bb);
+			}
+		}
+		stale[perspective.ordinal()] = false;
+	}
+
+	/**
+	 * Network output in centipawns from the point of view of {@code sideToMove}.
+	 */
+	public int evaluate(Color sideToMove) {
+		for (Color perspective : Color.values()) {
+			if (stale[perspective.ordinal()]) {
+				refresh(perspective);
+			}
+		}
+
+		int hidden = network.hiddenSize();
+		kernels.clippedRelu(accumulators[sideToMove.ordinal()], input, 0, NnueNetwork.ACTIVATION_MAX);
+		kernels.clippedRelu(accumulators[sideToMove.opposite().ordinal()], input, hidden, NnueNetwork.ACTIVATION_MAX);
+
+		for (int i = 0; i < NnueNetwork.L1_SIZE; i++) {
+			l1Output[i] = activate(network.l1Biases[i] + kernels.dot(input, network.l1Weights, i * 2 * hidden));
+		}
+		for (int i = 0; i < NnueNetwork.L2_SIZE; i++) {
+			l2Output[i] = activate(network.l2Biases[i] + kernels.dot(l1Output, network.l2Weights, i * NnueNetwork.L1_SIZE));
+		}
+		int output = network.outputBias + kernels.dot(l2Output, network.outputWeights, 0);
+		return output / NnueNetwork.OUTPUT_SCALE;
+	}
+
+	private static int activate(int sum) {
+		return Math.max(0, Math.min(NnueNetwork.ACTIVATION_MAX, sum >> NnueNetwork.WEIGHT_SHIFT));
+	}
+
+}
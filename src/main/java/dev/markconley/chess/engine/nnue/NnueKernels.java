@@ -0,0 +1,43 @@
+package dev.markconley.chess.engine.nnue;
+
+/**
+ * The inner loops of network inference. {@link #best()} picks the Vector API implementation
+ * when the {@code jdk.incubator.vector} module is present (run with
+ * {@code --add-modules jdk.incubator.vector}) and the scalar one otherwise.
+ */
+interface NnueKernels {
+
+	/** System property that forces the scalar kernels, e.g. to compare the two. */
+	String SCALAR_PROPERTY = "chess.nnue.scalar";
+
+	/** {@code accumulator[i] += weights[offset + i]} for the whole accumulator. */
+	void add(short[] accumulator, short[] weights, int offset);
+
+	/** {@code accumulator[i] -= weights[offset + i]} for the whole accumulator. */
+	void subtract(short[] accumulator, short[] weights, int offset);
+
+	/** Sum of {@code input[i] * weights[offset + i]} over the input. */
+	int dot(int[] input, int[] weights, int offset);
+
+	/** Clamps the accumulator into {@code [0, max]} and writes it to {@code output} from {@code offset}. */
+	default void clippedRelu(short[] accumulator, int[] output, int offset, int max) {
+		for (int i = 0; i < accumulator.length; i++) {
+			output[offset + i] = Math.max(0, Math.min(max, accumulator[i]));
+		}
+	}
+
+	static NnueKernels best() {
+		if (!Boolean.getBoolean(SCALAR_PROPERTY)
+				&& ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent()) {
+			// Loaded reflectively so this class never links against the incubator module itself
+			try {
+				return (NnueKernels) Class.forName(NnueKernels.class.getPackageName() + ".VectorKernels")
+						.getDeclaredConstructor().newInstance();
+			} catch (ReflectiveOperationException | LinkageError e) {
+				return ScalarKernels.INSTANCE;
+			}
+		}
+		return ScalarKernels.INSTANCE;
+	}
+
+}
@@ -0,0 +1,224 @@
+package dev.markconley.chess.engine.nnue;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.SplittableRandom;
+
+import dev.markconley.chess.engine.bitboard.BitboardPosition;
+import dev.markconley.chess.engine.core.Color;
+import dev.markconley.chess.engine.pieces.PieceType;
+
+/**
+ * Quantized weights of a HalfKP network: the input layer has one feature per (own king square,
+ * non-king piece, square) from each side's point of view, feeding an int16 accumulator of
+ * {@link #hiddenSize()} neurons per side. The two clipped accumulators, side to move first, go
+ * through two int8 dense layers of {@link #L1_SIZE} and {@link #L2_SIZE} neurons and an int8
+ * output neuron.
+ *
+ * <p>The file format is big-endian: the magic {@code "NNUE"}, a version int, the hidden size,
+ * then input biases and weights as int16, and for each dense layer its int32 biases followed by
+ * its int8 weights, one row per output neuron. Dense weights are widened to ints on load so the
+ * SIMD kernels can multiply-accumulate them in int lanes.
+ */
+public final class NnueNetwork {
+
+	public static final int MAGIC = 0x4E4E5545; // "NNUE"
+	public static final int VERSION = 1;
+
+	/** Non-king pieces of either color from one side's point of view, times 64 squares. */
+	public static final int PIECE_FEATURES = 10 * 64;
+	public static final int FEATURES = 64 * PIECE_FEATURES;
+	public static final int L1_SIZE = 32;
+	public static final int L2_SIZE = 32;
+
+	/** Clipped activations range over [0, ACTIVATION_MAX]. */
+	static final int ACTIVATION_MAX = 127;
+	/** Dense layer outputs are scaled down by this shift before clipping. */
+	static final int WEIGHT_SHIFT = 6;
+	/** Output units per centipawn. */
+	static final int OUTPUT_SCALE = 16;
+
+	private final int hiddenSize;
+	final short[] featureBiases;
+	final short[] featureWeights;
+	final int[] l1Biases;
+	final int[] l1Weights;
+	final int[] l2Biases;
+	final int[] l2Weights;
+	final int outputBias;
+	final int[] outputWeights;
+
+	private NnueNetwork(int hiddenSize, short[] featureBiases, short[] featureWeights, int[] l1Biases,
+			int[] l1Weights, int[] l2Biases, int[] l2Weights, int outputBias, int[] outputWeights) {
+		this.hiddenSize = hiddenSize;
+		this.featureBiases = featureBiases;
+		this.featureWeights = featureWeights;
+		this.l1Biases = l1Biases;
+		this.l1Weights = l1Weights;
+		this.l2Biases = l2Biases;
+		this.l2Weights = l2Weights;
+		this.outputBias = outputBias;
+		this.outputWeights = outputWeights;
+	}
+
+	public int hiddenSize() {
+		return hiddenSize;
+	}
+
+	/**
+	 * Input feature of a non-king piece as seen by {@code perspective}, whose king stands on
+	 * {@code kingSquare}. Black sees the board flipped vertically with the colors swapped, so
+	 * both sides share one set of weights.
+	 */
+	public static int featureIndex(Color perspective, int kingSquare, int pieceIndex, int square) {
+		int color = pieceIndex / BitboardPosition.PIECE_TYPES;
+		int type = pieceIndex % BitboardPosition.PIECE_TYPES - 1; // kings have no feature
+		int relativeColor = color == perspective.ordinal() ? 0 : 1;
+		int flip = perspective == Color.WHITE ? 0 : 56;
+		return (kingSquare ^ flip) * PIECE_FEATURES + (relativeColor * 5 + type) * 64 + (square ^ flip);
+	}
+
+	static boolean isKing(int pieceIndex) {
+		return pieceIndex % BitboardPosition.PIECE_TYPES == PieceType.KING.ordinal();
+	}
+
+	public static NnueNetwork load(Path file) throws IOException {
+		try (InputStream in = Files.newInputStream(file)) {
+			return load(in);
+		}
+	}
+
+	public static NnueNetwork load(InputStream source) throws IOException {
+		DataInputStream in = new DataInputStream(new BufferedInputStream(source));
+		try {
+			if (in.readInt() != MAGIC) {
+				throw new IllegalArgumentException("Invalid network: bad magic number");
+			}
+			int version = in.readInt();
+			if (version != VERSION) {
+				throw new IllegalArgumentException("Invalid network: unsupported version " + version);
+			}
+			int hidden = in.readInt();
+			if (hidden <= 0 || hidden > 4096) {
+				throw new IllegalArgumentException("Invalid network: hidden size " + hidden);
+			}
+
+			short[] featureBiases = readShorts(in, hidden);
+			short[] featureWeights = readShorts(in, FEATURES * hidden);
+			int[] l1Biases = readInts(in, L1_SIZE);
+			int[] l1Weights = readBytes(in, L1_SIZE * 2 * hidden);
+			int[] l2Biases = readInts(in, L2_SIZE);
+			int[] l2Weights = readBytes(in, L2_SIZE * L1_SIZE);
+			int outputBias = in.readInt();
+			int[] outputWeights = readBytes(in, L2_SIZE);
+			if (in.read() != -1) {
+				throw new IllegalArgumentException("Invalid network: trailing data");
+			}
+			return new NnueNetwork(hidden, featureBiases, featureWeights, l1Biases, l1Weights, l2Biases, l2Weights,
+					outputBias, outputWeights);
+		} catch (EOFException e) {
+			throw new IllegalArgumentException("Invalid network: truncated file", e);
+		}
+	}
+
+	public void save(Path file) throws IOException {
+		try (OutputStream out = Files.newOutputStream(file)) {
+			save(out);
+		}
+	}
+
+	public void save(OutputStream target) throws IOException {
+		DataOutputStream out = new DataOutputStream(new BufferedOutputStream(target));
+		out.writeInt(MAGIC);
+		out.writeInt(VERSION);
+		out.writeInt(hiddenSize);
+		writeShorts(out, featureBiases);
+		writeShorts(out, featureWeights);
+		writeInts(out, l1Biases);
+		writeBytes(out, l1Weights);
+		writeInts(out, l2Biases);
+		writeBytes(out, l2Weights);
+		out.writeInt(outputBias);
+		writeBytes(out, outputWeights);
+		out.flush();
+	}
+
+	/**
+	 * A network with small random weights, for tests and benchmarks: it plays no chess, but it
+	 * exercises the same code paths at the same cost as a trained one.
+	 */
+	public static NnueNetwork random(int hiddenSize, long seed) {
+		SplittableRandom random = new SplittableRandom(seed);
+		short[] featureBiases = new short[hiddenSize];
+		short[] featureWeights = new short[FEATURES * hiddenSize];
+		for (int i = 0; i < featureBiases.length; i++) {
+			featureBiases[i] = (short) random.nextInt(0, 64);
+		}
+		for (int i = 0; i < featureWeights.length; i++) {
+			featureWeights[i] = (short) random.nextInt(-16, 17);
+		}
+		return new NnueNetwork(hiddenSize, featureBiases, featureWeights,
+				randomInts(random, L1_SIZE, 256), randomInts(random, L1_SIZE * 2 * hiddenSize, 8),
+				randomInts(random, L2_SIZE, 256), randomInts(random, L2_SIZE * L1_SIZE, 16),
+				random.nextInt(-256, 257), randomInts(random, L2_SIZE, 64));
+	}
+
+	private static int[] randomInts(SplittableRandom random, int length, int bound) {
+		int[] values = new int[length];
+		for (int i = 0; i < length; i++) {
+			values[i] = random.nextInt(-bound, bound + 1);
+		}
+		return values;
+	}
+
+	private static short[] readShorts(DataInputStream in, int length) throws IOException {
+		short[] values = new short[length];
+		for (int i = 0; i < length; i++) {
+			values[i] = in.readShort();
+		}
+		return values;
+	}
+
+	private static int[] readInts(DataInputStream in, int length) throws IOException {
+		int[] values = new int[length];
+		for (int i = 0; i < length; i++) {
+			values[i] = in.readInt();
+		}
+		return values;
+	}
+
+	private static int[] readBytes(DataInputStream in, int length) throws IOException {
+		int[] values = new int[length];
+		for (int i = 0; i < length; i++) {
+			values[i] = in.readByte();
+		}
+		return values;
+	}
+
+	private static void writeShorts(DataOutputStream out, short[] values) throws IOException {
+		for (short value : values) {
+			out.writeShort(value);
+		}
+	}
+
+	private static void writeInts(DataOutputStream out, int[] values) throws IOException {
+		for (int value : values) {
+			out.writeInt(value);
+		}
+	}
+
+	private static void writeBytes(DataOutputStream out, int[] values) throws IOException {
+		for (int value : values) {
+			out.writeByte(value);
+		}
+	}
+
+}
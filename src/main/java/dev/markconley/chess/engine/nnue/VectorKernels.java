@@ -0,0 +1,78 @@
+package dev.markconley.chess.engine.nnue;
+
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.ShortVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * SIMD kernels on the platform's preferred vector width. Lanes that do not fill a whole vector
+ * are finished with scalar code. Only instantiated through {@link NnueKernels#best()}.
+ */
+final class VectorKernels implements NnueKernels {
+
+	private static final VectorSpecies<Short> SHORTS = ShortVector.SPECIES_PREFERRED;
+	private static final VectorSpecies<Integer> INTS = IntVector.SPECIES_PREFERRED;
+
+	@Override
+	public void add(short[] accumulator, short[] weights, int offset) {
+		int i = 0;
+		for (int bound = SHORTS.loopBound(accumulator.length); i < bound; i += SHORTS.length()) {
+			ShortVector.fromArray(SHORTS, accumulator, i)
+					.add(ShortVector.fromArray(SHORTS, weights, offset + i))
+					.intoArray(accumulator, i);
+		}
+		for (; i < accumulator.length; i++) {
+			accumulator[i] += weights[offset + i];
+		}
+	}
+
+	@Override
+	public void subtract(short[] accumulator, short[] weights, int offset) {
+		int i = 0;
+		for (int bound = SHORTS.loopBound(accumulator.length); i < bound; i += SHORTS.length()) {
+			ShortVector.fromArray(SHORTS, accumulator, i)
+					.sub(ShortVector.fromArray(SHORTS, weights, offset + i))
+					.intoArray(accumulator, i);
+		}
+		for (; i < accumulator.length; i++) {
+			accumulator[i] -= weights[offset + i];
+		}
+	}
+
+	@Override
+	public int dot(int[] input, int[] weights, int offset) {
+		IntVector sum = IntVector.zero(INTS);
+		int i = 0;
+		for (int bound = INTS.loopBound(input.length); i < bound; i += INTS.length()) {
+			sum = IntVector.fromArray(INTS, input, i)
+					.mul(IntVector.fromArray(INTS, weights, offset + i))
+					.add(sum);
+		}
+		int result = sum.reduceLanes(VectorOperators.ADD);
+		for (; i < input.length; i++) {
+			result += input[i] * weights[offset + i];
+		}
+		return result;
+	}
+
+	@Override
+	public void clippedRelu(short[] accumulator, int[] output, int offset, int max) {
+		// Clamp in short lanes, then widen each half of the vector into int lanes
+		int parts = SHORTS.length() / INTS.length();
+		int i = 0;
+		for (int bound = SHORTS.loopBound(accumulator.length); i < bound; i += SHORTS.length()) {
+			ShortVector clipped = ShortVector.fromArray(SHORTS, accumulator, i)
+					.max((short) 0)
+					.min((short) max);
+			for (int part = 0; part < parts; part++) {
+				((IntVector) clipped.convertShape(VectorOperators.S2I, INTS, part))
+						.intoArray(output, offset + i + part * INTS.length());
+			}
+		}
+		for (; i < accumulator.length; i++) {
+			output[offset + i] = Math.max(0, Math.min(max, accumulator[i]));
+		}
+	}
+
+}
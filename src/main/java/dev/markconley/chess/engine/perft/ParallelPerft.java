@@ -0,0 +1,81 @@
+package dev.markconley.chess.engine.perft;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+import dev.markconley.chess.engine.move.LegalMoveGenerator;
+import dev.markconley.chess.engine.move.MoveExecutor;
+import dev.markconley.chess.engine.move.MoveList;
+import dev.markconley.chess.engine.state.BoardState;
+
+/**
+ * Perft on a {@link ForkJoinPool}. Every node above {@link #SPLIT_DEPTH} forks one task per
+ * legal move, each on its own copy of the position; subtrees at or below it are counted by the
+ * sequential {@link Perft}. All tasks share one {@link PerftTable}, so a transposed subtree is
+ * counted once no matter which thread reaches it first.
+ */
+public final class ParallelPerft {
+
+	/** Remaining depth at which a task stops forking and counts sequentially. */
+	public static final int SPLIT_DEPTH = 3;
+
+	private static final MoveExecutor moveExecutor = new MoveExecutor();
+
+	private ParallelPerft() { } // Utility class
+
+	public static long perft(BoardState state, int depth) {
+		return perft(state, depth, ForkJoinPool.commonPool(), new PerftTable(PerftTable.DEFAULT_ENTRIES));
+	}
+
+	public static long perft(BoardState state, int depth, ForkJoinPool pool, PerftTable table) {
+		return pool.invoke(new PerftTask(state.copy(), depth, table));
+	}
+
+	private static final class PerftTask extends RecursiveTask<Long> {
+
+		private static final long serialVersionUID = 1L;
+
+		private final transient BoardState state;
+		private final int depth;
+		private final transient PerftTable table;
+
+		PerftTask(BoardState state, int depth, PerftTable table) {
+			this.state = state;
+			this.depth = depth;
+			this.table = table;
+		}
+
+		@Override
+		protected Long compute() {
+			if (depth <= SPLIT_DEPTH) {
+				return Perft.perft(state, depth, table);
+			}
+
+			long key = state.getZobristKey();
+			long cached = table.probe(key, depth);
+			if (cached != PerftTable.MISS) {
+				return cached;
+			}
+
+			MoveList moves = new MoveList();
+			LegalMoveGenerator.generateLegalMoves(state, state.getCurrentTurn(), moves);
+			List<PerftTask> children = new ArrayList<>(moves.size());
+			for (int i = 0; i < moves.size(); i++) {
+				BoardState child = state.copy();
+				moveExecutor.makeMove(child, moves.get(i));
+				children.add(new PerftTask(child, depth - 1, table));
+			}
+
+			long nodes = 0;
+			for (PerftTask child : invokeAll(children)) {
+				nodes += child.join();
+			}
+			table.store(key, depth, nodes);
+			return nodes;
+		}
+
+	}
+
+}
@@ -0,0 +1,118 @@
+package dev.markconley.chess.engine.perft;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import dev.markconley.chess.engine.move.LegalMoveGenerator;
+import dev.markconley.chess.engine.move.MoveExecutor;
+import dev.markconley.chess.engine.move.MoveList;
+import dev.markconley.chess.engine.move.PackedMove;
+import dev.markconley.chess.engine.state.BoardState;
+import dev.markconley.chess.engine.state.FenParser;
+
+/**
+ * Counts the leaf nodes of the legal move tree to a fixed depth. The last ply is bulk counted:
+ * the size of the legal move list is taken without playing the moves. The state is walked with
+ * make/unmake and is left as it was found.
+ */
+public final class Perft {
+
+	private static final MoveExecutor moveExecutor = new MoveExecutor();
+
+	private Perft() { } // Utility class
+
+	public static long perft(BoardState state, int depth) {
+		return count(state, depth, buffers(depth), null);
+	}
+
+	/**
+	 * Perft that looks up and stores interior subtree counts in the given table.
+	 */
+	public static long perft(BoardState state, int depth, PerftTable table) {
+		return count(state, depth, buffers(depth), table);
+	}
+
+	/**
+	 * Perft split by root move, with the node count of the subtree below each one.
+	 */
+	public static PerftResult divide(BoardState state, int depth) {
+		if (depth < 1) {
+			throw new IllegalArgumentException("Divide depth must be at least 1: " + depth);
+		}
+
+		long start = System.nanoTime();
+		MoveList[] buffers = buffers(depth);
+		MoveList rootMoves = buffers[depth];
+		LegalMoveGenerator.generateLegalMoves(state, state.getCurrentTurn(), rootMoves);
+
+		Map<String, Long> counts = new LinkedHashMap<>();
+		long nodes = 0;
+		for (int i = 0; i < rootMoves.size(); i++) {
+			int move = rootMoves.get(i);
+			moveExecutor.makeMove(state, move);
+			long subtree = count(state, depth - 1, buffers, null);
+			moveExecutor.unmakeMove(state, move);
+			counts.put(PackedMove.toString(move), subtree);
+			nodes += subtree;
+		}
+		return new PerftResult(depth, nodes, System.nanoTime() - start, counts);
+	}
+
+	private static long count(BoardState state, int depth, MoveList[] buffers, PerftTable table) {
+		if (depth == 0) {
+			return 1;
+		}
+
+		boolean cacheable = table != null && depth > 1;
+		long key = cacheable ? state.getZobristKey() : 0L;
+		if (cacheable) {
+			long cached = table.probe(key, depth);
+			if (cached != PerftTable.MISS) {
+				return cached;
+			}
+		}
+
+		MoveList moves = buffers[depth];
+		moves.clear();
+		LegalMoveGenerator.generateLegalMoves(state, state.getCurrentTurn(), moves);
+		if (depth == 1) {
+			return moves.size();
+		}
+
+		long nodes = 0;
+		for (int i = 0; i < moves.size(); i++) {
+			int move = moves.get(i);
+			moveExecutor.makeMove(state, move);
+			nodes += count(state, depth - 1, buffers, table);
+			moveExecutor.unmakeMove(state, move);
+		}
+		if (cacheable) {
+			table.store(key, depth, nodes);
+		}
+		return nodes;
+	}
+
+	private static MoveList[] buffers(int depth) {
+		MoveList[] buffers = new MoveList[depth + 1];
+		for (int i = 0; i <= depth; i++) {
+			buffers[i] = new MoveList();
+		}
+		return buffers;
+	}
+
+	/**
+	 * Usage: {@code Perft <depth> [fen]}. Prints the divide and the node rate.
+	 */
+	public static void main(String[] args) {
+		if (args.length < 1) {
+			System.out.println("Usage: Perft <depth> [fen]");
+			return;
+		}
+		int depth = Integer.parseInt(args[0]);
+		String fen = args.length > 1 ? String.join(" ", Arrays.copyOfRange(args, 1, args.length))
+				: FenParser.STARTING_POSITION;
+		System.out.print(divide(FenParser.parse(fen), depth).report());
+	}
+
+}
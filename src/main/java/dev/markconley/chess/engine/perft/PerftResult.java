@@ -0,0 +1,26 @@
+package dev.markconley.chess.engine.perft;
+
+import java.util.Map;
+
+/**
+ * Outcome of a {@link Perft#divide} run: total leaf nodes, elapsed time and the node count
+ * under each root move (in coordinate notation, in generation order).
+ */
+public record PerftResult(int depth, long nodes, long elapsedNanos, Map<String, Long> divide) {
+
+	public double nodesPerSecond() {
+		return elapsedNanos == 0 ? 0 : nodes * 1_000_000_000.0 / elapsedNanos;
+	}
+
+	public String report() {
+		StringBuilder sb = new StringBuilder();
+		divide.forEach((move, count) -> sb.append(move).append(": ").append(count).append('\n'));
+		sb.append('\n');
+		sb.append("Depth: ").append(depth).append('\n');
+		sb.append("Nodes: ").append(nodes).append('\n');
+		sb.append("Time: ").append(elapsedNanos / 1_000_000).append(" ms\n");
+		sb.append("NPS: ").append(Math.round(nodesPerSecond())).append('\n');
+		return sb.toString();
+	}
+
+}
@@ -0,0 +1,55 @@
+package dev.markconley.chess.engine.perft;
+
+/**
+ * Shared perft cache keyed by Zobrist key and depth. Entries live in a flat {@code long[]}, two
+ * slots each: the data word (node count and depth) and the key XOR the data word. Threads read
+ * and write without locks; a torn entry, where the two words come from different writes, no
+ * longer XORs back to its key and is treated as a miss. Colliding entries are simply replaced.
+ */
+public final class PerftTable {
+
+	public static final int DEFAULT_ENTRIES = 1 << 20;
+	public static final long MISS = -1L;
+
+	private static final int DEPTH_BITS = 8;
+	private static final long DEPTH_MASK = (1L << DEPTH_BITS) - 1;
+
+	private final long[] table;
+	private final int mask;
+
+	/**
+	 * @param entries number of entries, rounded down to a power of two
+	 */
+	public PerftTable(int entries) {
+		if (entries < 1) {
+			throw new IllegalArgumentException("Table needs at least one entry: " + entries);
+		}
+		int size = Integer.highestOneBit(entries);
+		this.table = new long[size * 2];
+		this.mask = size - 1;
+	}
+
+	/**
+	 * Node count stored for the position at this depth, or {@link #MISS}.
+	 */
+	public long probe(long key, int depth) {
+		int slot = slot(key);
+		long data = table[slot + 1];
+		if ((table[slot] ^ data) != key || (data & DEPTH_MASK) != depth) {
+			return MISS;
+		}
+		return data >>> DEPTH_BITS;
+	}
+
+	public void store(long key, int depth, long nodes) {
+		int slot = slot(key);
+		long data = (nodes << DEPTH_BITS) | depth;
+		table[slot] = key ^ data;
+		table[slot + 1] = data;
+	}
+
+	private int slot(long key) {
+		return ((int) key & mask) << 1;
+	}
+
+}
@@ -2,7 +2,7 @@ package dev.markconley.chess.engine.pieces;
 
 import dev.markconley.chess.engine.core.Color;
 
-public class Bishop extends Piece {
+public final class Bishop extends Piece {
 
 	public Bishop(Color color) {
 		super(color);
@@ -13,11 +13,4 @@ public class Bishop extends Piece {
 		return PieceType.BISHOP;
 	}
 
-	@Override
-	public Bishop copy() {
-		Bishop copy = new Bishop(this.getColor());
-        copy.setPosition(this.getPosition()); 
-        return copy;
-	}
-
 }
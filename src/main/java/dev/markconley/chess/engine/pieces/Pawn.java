@@ -2,7 +2,7 @@ package dev.markconley.chess.engine.pieces;
 
 import dev.markconley.chess.engine.core.Color;
 
-public class Pawn extends Piece {
+public final class Pawn extends Piece {
 
 	public Pawn(Color color) {
 		super(color);
@@ -13,11 +13,4 @@ public class Pawn extends Piece {
 		return PieceType.PAWN;
 	}
 
-	@Override
-	public Pawn copy() {
-		Pawn copy = new Pawn(this.getColor());
-        copy.setPosition(this.getPosition()); 
-        return copy;
-	}
-
 }
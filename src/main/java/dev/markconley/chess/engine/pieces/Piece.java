@@ -1,7 +1,6 @@
 package dev.markconley.chess.engine.pieces;
 
 import java.util.List;
-import java.util.Objects;
 
 import dev.markconley.chess.engine.core.Color;
 import dev.markconley.chess.engine.core.Copyable;
@@ -10,62 +9,84 @@ import dev.markconley.chess.engine.move.Move;
 import dev.markconley.chess.engine.move.MoveGenerator;
 import dev.markconley.chess.engine.state.BoardState;
 
-public abstract class Piece implements Copyable<Piece> {
-	private Color color;
-	private Position position;
+/**
+ * An immutable piece: just a color and a type. Where it stands is kept by the
+ * {@link dev.markconley.chess.engine.board.Board}, so one instance per color and type,
+ * available from {@link #of(Color, PieceType)}, is shared by every board.
+ */
+public abstract sealed class Piece implements Copyable<Piece> permits King, Queen, Rook, Bishop, Knight, Pawn {
 
-	public Piece(Color color) {
+	private static final Piece[] SHARED = new Piece[2 * PieceType.values().length];
+
+	static {
+		for (Color color : Color.values()) {
+			SHARED[index(color, PieceType.KING)] = new King(color);
+			SHARED[index(color, PieceType.QUEEN)] = new Queen(color);
+			SHARED[index(color, PieceType.ROOK)] = new Rook(color);
+			SHARED[index(color, PieceType.BISHOP)] = new Bishop(color);
+			SHARED[index(color, PieceType.KNIGHT)] = new Knight(color);
+			SHARED[index(color, PieceType.PAWN)] = new Pawn(color);
+		}
+	}
+
+	private final Color color;
+
+	protected Piece(Color color) {
+		if (color == null) {
+			throw new IllegalArgumentException("Piece color must not be null");
+		}
 		this.color = color;
 	}
 
-	public List<Move> getPossibleMoves(BoardState state) {
-	    return MoveGenerator.generateMoves(state, this);
+	/**
+	 * The shared instance for the color and type.
+	 */
+	public static Piece of(Color color, PieceType type) {
+		return SHARED[index(color, type)];
+	}
+
+	private static int index(Color color, PieceType type) {
+		return color.ordinal() * PieceType.values().length + type.ordinal();
+	}
+
+	public final List<Move> getPossibleMoves(BoardState state, Position from) {
+		return MoveGenerator.generateMoves(state, this, from);
 	}
 
 	public abstract PieceType getPieceType();
 
+	/**
+	 * Pieces are immutable, so a copy is the piece itself.
+	 */
 	@Override
-	public abstract Piece copy();
+	public final Piece copy() {
+		return this;
+	}
 
 	public Color getColor() {
 		return color;
 	}
 
-	public Position getPosition() {
-		if (position == null) {
-			throw new IllegalStateException("Position not set for piece: " + this);
-		}
-		return position;
-	}
-
-	public void setPosition(Position position) {
-		if (position == null) {
-			throw new IllegalArgumentException("Cannot set null position on piece: " + this);
-		}
-		this.position = position;
-	}
-
 	@Override
 	public boolean equals(Object o) {
 		if (this == o) {
 			return true;
 		}
-		if (o == null || getClass() != o.getClass()) {
+		if (!(o instanceof Piece)) {
 			return false;
 		}
-
 		Piece piece = (Piece) o;
-		return color == piece.color && Objects.equals(position, piece.position);
+		return color == piece.color && getPieceType() == piece.getPieceType();
 	}
 
 	@Override
 	public int hashCode() {
-		return Objects.hash(getClass(), color, position);
+		return index(color, getPieceType());
 	}
 
 	@Override
 	public String toString() {
-		return getClass().getSimpleName() + "(" + color + " at " + position + ")";
+		return getClass().getSimpleName() + "(" + color + ")";
 	}
 
 }
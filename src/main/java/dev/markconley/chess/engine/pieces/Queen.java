@@ -2,7 +2,7 @@ package dev.markconley.chess.engine.pieces;
 
 import dev.markconley.chess.engine.core.Color;
 
-public class Queen extends Piece {
+public final class Queen extends Piece {
 
 	public Queen(Color color) {
 		super(color);
@@ -13,11 +13,4 @@ public class Queen extends Piece {
 		return PieceType.QUEEN;
 	}
 
-	@Override
-	public Queen copy() {
-		Queen copy = new Queen(this.getColor());
-        copy.setPosition(this.getPosition()); 
-        return copy;
-	}
-
 }
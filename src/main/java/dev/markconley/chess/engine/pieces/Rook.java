@@ -2,7 +2,7 @@ package dev.markconley.chess.engine.pieces;
 
 import dev.markconley.chess.engine.core.Color;
 
-public class Rook extends Piece {
+public final class Rook extends Piece {
 
 	public Rook(Color color) {
 		super(color);
@@ -13,11 +13,4 @@ public class Rook extends Piece {
 		return PieceType.ROOK;
 	}
 
-	@Override
-	public Rook copy() {
-		Rook copy = new Rook(this.getColor());
-        copy.setPosition(this.getPosition()); 
-        return copy;
-	}
-
 }
@@ -3,10 +3,9 @@ package dev.markconley.chess.engine.rules.draw;
 import java.util.List;
 import java.util.Optional;
 
-import dev.markconley.chess.engine.board.Board;
-import dev.markconley.chess.engine.move.Move;
 import dev.markconley.chess.engine.state.BoardState;
 import dev.markconley.chess.game.GameStatus;
+import dev.markconley.chess.game.HistoryTracker;
 
 public class DrawRuleEngine {
 	
@@ -20,9 +19,13 @@ public class DrawRuleEngine {
         );
     }
 
-	public GameStatus checkDraw(Board board, BoardState state, List<Move> moveHistory, List<BoardState> history) {
+	/**
+	 * Checks the position just recorded in the history. Every rule reads incrementally maintained
+	 * state, so the cost does not grow with the length of the game.
+	 */
+	public GameStatus checkDraw(BoardState state, HistoryTracker history) {
 		for (DrawRule rule : rules) {
-			Optional<GameStatus> result = rule.check(board, state, moveHistory, history);
+			Optional<GameStatus> result = rule.check(state, history);
 			if (result.isPresent()) {
 				return result.get();
 			}
@@ -1,34 +1,36 @@
 package dev.markconley.chess.engine.rules.draw;
 
-import java.util.List;
+import static dev.markconley.chess.engine.bitboard.BitboardPosition.materialUnit;
+
 import java.util.Optional;
 
-import dev.markconley.chess.engine.board.Board;
-import dev.markconley.chess.engine.move.Move;
-import dev.markconley.chess.engine.pieces.Bishop;
-import dev.markconley.chess.engine.pieces.King;
-import dev.markconley.chess.engine.pieces.Knight;
-import dev.markconley.chess.engine.pieces.Piece;
+import dev.markconley.chess.engine.core.Color;
+import dev.markconley.chess.engine.pieces.PieceType;
 import dev.markconley.chess.engine.state.BoardState;
 import dev.markconley.chess.game.GameStatus;
+import dev.markconley.chess.game.HistoryTracker;
 
 public class InsufficientMaterialRule implements DrawRule {
-	
-	@Override
-	public Optional<GameStatus> check(Board board, BoardState state, List<Move> moveHistory, List<BoardState> history) {
-		List<Piece> pieces = board.getAllActivePieces();
-
-		boolean onlyKings = pieces.stream().allMatch(p -> p instanceof King);
-		if (onlyKings) {
-			return Optional.of(GameStatus.INSUFFICIENT_MATERIAL);
-		}
 
-		long minorPieces = pieces.stream().filter(p -> p instanceof Bishop || p instanceof Knight).count();
+	private static final long KINGS = materialUnit(Color.WHITE, PieceType.KING) + materialUnit(Color.BLACK, PieceType.KING);
 
-		if (pieces.size() == 3 && minorPieces == 1) {
-			return Optional.of(GameStatus.INSUFFICIENT_MATERIAL);
+	// Bare kings, or a single minor piece against a bare king
+	private static final long[] DRAWN = {
+			KINGS,
+			KINGS + materialUnit(Color.WHITE, PieceType.BISHOP),
+			KINGS + materialUnit(Color.WHITE, PieceType.KNIGHT),
+			KINGS + materialUnit(Color.BLACK, PieceType.BISHOP),
+			KINGS + materialUnit(Color.BLACK, PieceType.KNIGHT)
+	};
+	
+	@Override
+	public Optional<GameStatus> check(BoardState state, HistoryTracker history) {
+		long material = state.getBoard().getBitboards().materialKey();
+		for (long drawn : DRAWN) {
+			if (material == drawn) {
+				return Optional.of(GameStatus.INSUFFICIENT_MATERIAL);
+			}
 		}
-
 		return Optional.empty();
 	}
 	
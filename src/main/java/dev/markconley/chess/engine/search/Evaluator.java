@@ -0,0 +1,51 @@
+package dev.markconley.chess.engine.search;
+
+import dev.markconley.chess.engine.bitboard.BitboardPosition;
+import dev.markconley.chess.engine.bitboard.PieceSquareTables;
+import dev.markconley.chess.engine.core.Color;
+import dev.markconley.chess.engine.pieces.PieceType;
+import dev.markconley.chess.engine.state.BoardState;
+
+/**
+ * Static evaluation in centipawns from the side to move's point of view: a tapered blend of the
+ * middlegame and endgame piece-square scores, weighted by the game phase. All three are kept up
+ * to date by {@link BitboardPosition} as pieces are placed and removed, including on every
+ * make and unmake, so that part reads three ints and allocates nothing. Pawn-structure terms
+ * ({@link PawnStructure}) are added on top, looked up in a {@link PawnHashTable} when the caller
+ * has one.
+ *
+ * <p>{@link #pieceValue} is the plain material scale used by move ordering and exchanges.
+ */
+public final class Evaluator {
+
+	// Indexed by PieceType ordinal: KING, QUEEN, ROOK, BISHOP, KNIGHT, PAWN
+	private static final int[] PIECE_VALUES = { 0, 900, 500, 330, 320, 100 };
+
+	private Evaluator() { } // Utility class
+
+	public static int pieceValue(PieceType type) {
+		return PIECE_VALUES[type.ordinal()];
+	}
+
+	/**
+	 * Evaluates the position, computing the pawn structure from scratch.
+	 */
+	public static int evaluate(BoardState state) {
+		BitboardPosition bitboards = state.getBoard().getBitboards();
+		return evaluate(state, PawnStructure.evaluate(bitboards));
+	}
+
+	public static int evaluate(BoardState state, PawnHashTable pawnTable) {
+		return evaluate(state, pawnTable.score(state.getBoard().getBitboards()));
+	}
+
+	private static int evaluate(BoardState state, int pawnScore) {
+		BitboardPosition bitboards = state.getBoard().getBitboards();
+		int middlegame = bitboards.middlegameScore() + PawnStructure.middlegame(pawnScore);
+		int endgame = bitboards.endgameScore() + PawnStructure.endgame(pawnScore);
+		int phase = Math.min(bitboards.phase(), PieceSquareTables.MAX_PHASE);
+		int score = (middlegame * phase + endgame * (PieceSquareTables.MAX_PHASE - phase)) / PieceSquareTables.MAX_PHASE;
+		return state.getCurrentTurn() == Color.WHITE ? score : -score;
+	}
+
+}
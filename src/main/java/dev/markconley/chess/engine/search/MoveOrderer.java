@@ -0,0 +1,183 @@
+package dev.markconley.chess.engine.search;
+
+import dev.markconley.chess.engine.bitboard.BitboardPosition;
+import dev.markconley.chess.engine.core.Color;
+import dev.markconley.chess.engine.move.MoveList;
+import dev.markconley.chess.engine.move.PackedMove;
+import dev.markconley.chess.engine.pieces.PieceType;
+
+/**
+ * Move ordering for the search. Moves are scored into bands and picked best-first:
+ * <ol>
+ * <li>the hash move,</li>
+ * <li>captures and promotions by MVV-LVA (most valuable victim, then least valuable attacker),</li>
+ * <li>the two killer moves of the ply,</li>
+ * <li>the countermove to the opponent's last move,</li>
+ * <li>remaining quiet moves by history score.</li>
+ * </ol>
+ * All tables are primitive arrays indexed by piece ({@link BitboardPosition#index}) and square,
+ * so scoring and updates allocate nothing. One orderer belongs to one search thread.
+ */
+public class MoveOrderer {
+
+	private static final int HASH_MOVE = 2_000_000;
+	private static final int CAPTURE = 1_000_000;
+	private static final int KILLER_FIRST = 900_000;
+	private static final int KILLER_SECOND = 899_000;
+	private static final int COUNTERMOVE = 898_000;
+	private static final int HISTORY_MAX = 400_000;
+
+	private static final int PIECES = 2 * BitboardPosition.PIECE_TYPES;
+
+	private final int[][] killers;
+	private final int[][] history = new int[PIECES][64];
+	private final int[][] countermoves = new int[PIECES][64];
+	private final int[][] scores;
+
+	public MoveOrderer(int maxPly) {
+		this.killers = new int[maxPly][2];
+		this.scores = new int[maxPly][MoveList.MAX_MOVES];
+	}
+
+	/**
+	 * Forgets killers and halves history, keeping what the previous search learned as a hint.
+	 */
+	public void newSearch() {
+		for (int[] plyKillers : killers) {
+			plyKillers[0] = PackedMove.NONE;
+			plyKillers[1] = PackedMove.NONE;
+		}
+		for (int piece = 0; piece < PIECES; piece++) {
+			for (int square = 0; square < 64; square++) {
+				history[piece][square] /= 2;
+			}
+		}
+	}
+
+	/**
+	 * Scores every move of the ply. {@code previousMove} is the opponent's move that led here, or
+	 * {@link PackedMove#NONE} at the root.
+	 */
+	public void score(MoveList moves, int ply, Color color, int hashMove, int previousMove) {
+		score(moves, 0, ply, color, hashMove, previousMove);
+	}
+
+	/**
+	 * Scores the moves from index {@code start} on, leaving earlier ones as they are.
+	 */
+	public void score(MoveList moves, int start, int ply, Color color, int hashMove, int previousMove) {
+		int[] plyScores = scores[ply];
+		int counter = countermove(color, previousMove);
+
+		for (int i = start; i < moves.size(); i++) {
+			int move = moves.get(i);
+			if (move == hashMove) {
+				plyScores[i] = HASH_MOVE;
+			} else if (PackedMove.isCapture(move) || PackedMove.isPromotion(move)) {
+				plyScores[i] = CAPTURE + mvvLva(move);
+			} else if (move == killers[ply][0]) {
+				plyScores[i] = KILLER_FIRST;
+			} else if (move == killers[ply][1]) {
+				plyScores[i] = KILLER_SECOND;
+			} else if (move == counter) {
+				plyScores[i] = COUNTERMOVE;
+			} else {
+				plyScores[i] = history[pieceIndex(color, move)][PackedMove.to(move)];
+			}
+		}
+	}
+
+	/**
+	 * Killer {@code slot} (0 or 1) of the ply, or {@link PackedMove#NONE}.
+	 */
+	public int killer(int ply, int slot) {
+		return killers[ply][slot];
+	}
+
+	/**
+	 * The move that last refuted {@code previousMove}, played by {@code color}, or
+	 * {@link PackedMove#NONE}.
+	 */
+	public int countermove(Color color, int previousMove) {
+		return previousMove == PackedMove.NONE ? PackedMove.NONE
+				: countermoves[pieceIndex(color.opposite(), previousMove)][PackedMove.to(previousMove)];
+	}
+
+	/**
+	 * Lifts the move at {@code index} so it is tried right after the hash move.
+	 */
+	public void promote(int ply, int index) {
+		scores[ply][index] = HASH_MOVE - 1;
+	}
+
+	/**
+	 * Moves the best-scored remaining move to {@code index} and returns it. Scoring is lazy in
+	 * the sense that only as much of the list is sorted as the search actually visits.
+	 */
+	public int next(MoveList moves, int ply, int index) {
+		int[] plyScores = scores[ply];
+		int best = index;
+		for (int i = index + 1; i < moves.size(); i++) {
+			if (plyScores[i] > plyScores[best]) {
+				best = i;
+			}
+		}
+		if (best != index) {
+			moves.swap(index, best);
+			int score = plyScores[index];
+			plyScores[index] = plyScores[best];
+			plyScores[best] = score;
+		}
+		return moves.get(index);
+	}
+
+	/**
+	 * Records a beta cutoff by a quiet move: it becomes a killer and the countermove, its history
+	 * rises and the quiet moves tried before it are penalised.
+	 */
+	public void updateQuietCutoff(MoveList moves, int cutoffIndex, int ply, int depth, Color color,
+			int previousMove) {
+		int move = moves.get(cutoffIndex);
+		if (killers[ply][0] != move) {
+			killers[ply][1] = killers[ply][0];
+			killers[ply][0] = move;
+		}
+		if (previousMove != PackedMove.NONE) {
+			countermoves[pieceIndex(color.opposite(), previousMove)][PackedMove.to(previousMove)] = move;
+		}
+
+		int bonus = Math.min(depth * depth, 400);
+		addHistory(color, move, bonus);
+		for (int i = 0; i < cutoffIndex; i++) {
+			int tried = moves.get(i);
+			if (isQuiet(tried)) {
+				addHistory(color, tried, -bonus);
+			}
+		}
+	}
+
+	public static boolean isQuiet(int move) {
+		return !PackedMove.isCapture(move) && !PackedMove.isPromotion(move);
+	}
+
+	// History gravity: the closer an entry is to the cap the smaller each step, keeping it bounded
+	private void addHistory(Color color, int move, int bonus) {
+		int[] entries = history[pieceIndex(color, move)];
+		int to = PackedMove.to(move);
+		entries[to] += bonus * 32 - entries[to] * Math.abs(bonus) * 32 / HISTORY_MAX;
+	}
+
+	private static int mvvLva(int move) {
+		PieceType victim = PackedMove.capturedType(move);
+		int gain = victim == null ? 0 : Evaluator.pieceValue(victim) * 10;
+		if (PackedMove.isPromotion(move)) {
+			gain += Evaluator.pieceValue(PackedMove.promotionType(move)) * 10;
+		}
+		return gain - Evaluator.pieceValue(PackedMove.movedType(move)) / 10;
+	}
+
+	private static int pieceIndex(Color color, int move) {
+		return BitboardPosition.index(color, PackedMove.movedType(move));
+	}
+
+}
@@ -0,0 +1,173 @@
+package dev.markconley.chess.engine.search;
+
+import dev.markconley.chess.engine.core.Color;
+import dev.markconley.chess.engine.move.LegalMoveGenerator;
+import dev.markconley.chess.engine.move.MoveGenerator;
+import dev.markconley.chess.engine.move.MoveList;
+import dev.markconley.chess.engine.move.PackedMove;
+import dev.markconley.chess.engine.state.BoardState;
+
+/**
+ * Hands out the moves of one node in stages, generating each group only when the previous one
+ * is used up:
+ * <ol>
+ * <li>the hash move, checked for legality but with nothing generated,</li>
+ * <li>captures and promotions, generated together and picked by MVV-LVA,</li>
+ * <li>the two killers and the countermove, again only checked,</li>
+ * <li>the remaining quiet moves, generated last and picked by history.</li>
+ * </ol>
+ * A beta cutoff on the hash move or a capture means quiet moves are never generated at all.
+ * In check, or when the full list is wanted up front, {@link #resetAll} generates and scores
+ * every move at once instead.
+ *
+ * <p>Moves go into one reusable buffer, so picking allocates nothing. One picker serves one ply
+ * of one search thread.
+ */
+public class MovePicker {
+
+	private enum Stage { HASH, GENERATE_CAPTURES, CAPTURES, REFUTATIONS, GENERATE_QUIETS, QUIETS, DONE }
+
+	private final MoveOrderer orderer;
+	private final MoveList moves = new MoveList();
+	private final int[] refutations = new int[3];
+
+	private BoardState state;
+	private Color color;
+	private int ply;
+	private int hashMove;
+	private int previousMove;
+	private Stage stage;
+	private int index;
+
+	public MovePicker(MoveOrderer orderer) {
+		this.orderer = orderer;
+	}
+
+	/**
+	 * Starts staged picking for the side to move. {@code hashMove} may be any move, or
+	 * {@link PackedMove#NONE}; it is only played if it is legal here.
+	 */
+	public void reset(BoardState state, int ply, int hashMove, int previousMove) {
+		start(state, ply, hashMove, previousMove);
+		this.stage = Stage.HASH;
+	}
+
+	/**
+	 * Generates and scores every legal move now; {@link #moves()} then holds the whole list.
+	 */
+	public void resetAll(BoardState state, int ply, int hashMove, int previousMove) {
+		start(state, ply, hashMove, previousMove);
+		LegalMoveGenerator.generateLegalMoves(state, color, moves);
+		orderer.score(moves, ply, color, hashMove, previousMove);
+		this.hashMove = PackedMove.NONE;
+		this.stage = Stage.QUIETS;
+	}
+
+	private void start(BoardState state, int ply, int hashMove, int previousMove) {
+		this.state = state;
+		this.color = state.getCurrentTurn();
+		this.ply = ply;
+		this.hashMove = hashMove;
+		this.previousMove = previousMove;
+		this.index = 0;
+		moves.clear();
+		refutations[0] = PackedMove.NONE;
+		refutations[1] = PackedMove.NONE;
+		refutations[2] = PackedMove.NONE;
+	}
+
+	/**
+	 * The next move to search, or {@link PackedMove#NONE} once every legal move has been handed out.
+	 */
+	public int next() {
+		while (true) {
+			switch (stage) {
+			case HASH -> {
+				stage = Stage.GENERATE_CAPTURES;
+				if (isLegal(hashMove)) {
+					return hashMove;
+				}
+				hashMove = PackedMove.NONE;
+			}
+			case GENERATE_CAPTURES -> {
+				LegalMoveGenerator.generateLegalCaptures(state, color, moves);
+				orderer.score(moves, 0, ply, color, PackedMove.NONE, previousMove);
+				stage = Stage.CAPTURES;
+			}
+			case CAPTURES -> {
+				while (index < moves.size()) {
+					int move = orderer.next(moves, ply, index++);
+					if (move != hashMove) {
+						return move;
+					}
+				}
+				refutations[0] = orderer.killer(ply, 0);
+				refutations[1] = orderer.killer(ply, 1);
+				refutations[2] = orderer.countermove(color, previousMove);
+				stage = Stage.REFUTATIONS;
+				index = 0;
+			}
+			case REFUTATIONS -> {
+				while (index < refutations.length) {
+					int move = refutations[index++];
+					if (MoveOrderer.isQuiet(move) && move != hashMove && !isRepeatedRefutation(move)
+							&& isLegal(move)) {
+						return move;
+					}
+				}
+				stage = Stage.GENERATE_QUIETS;
+			}
+			case GENERATE_QUIETS -> {
+				index = moves.size();
+				LegalMoveGenerator.generateLegalQuiets(state, color, moves);
+				orderer.score(moves, index, ply, color, PackedMove.NONE, previousMove);
+				stage = Stage.QUIETS;
+			}
+			case QUIETS -> {
+				while (index < moves.size()) {
+					int move = orderer.next(moves, ply, index++);
+					if (move != hashMove && !isRefutation(move)) {
+						return move;
+					}
+				}
+				stage = Stage.DONE;
+			}
+			case DONE -> {
+				return PackedMove.NONE;
+			}
+			}
+		}
+	}
+
+	/**
+	 * The generated moves so far. After {@link #resetAll} this is every legal move.
+	 */
+	public MoveList moves() {
+		return moves;
+	}
+
+	private boolean isLegal(int move) {
+		return MoveGenerator.isLegal(state, move);
+	}
+
+	// The countermove can coincide with a killer; it is handed out once
+	private boolean isRepeatedRefutation(int move) {
+		for (int i = 0; i < index - 1; i++) {
+			if (refutations[i] == move) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	// Legal refutations were already handed out in their own stage
+	private boolean isRefutation(int move) {
+		for (int refutation : refutations) {
+			if (refutation == move) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+}
@@ -0,0 +1,131 @@
+package dev.markconley.chess.engine.search;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import dev.markconley.chess.engine.move.PackedMove;
+import dev.markconley.chess.engine.nnue.NnueNetwork;
+import dev.markconley.chess.engine.state.BoardState;
+
+/**
+ * Lazy SMP: every thread runs its own iterative-deepening {@link Search} on the same root, and
+ * they cooperate only through the shared lock-free {@link TranspositionTable}. Helpers start at
+ * alternating depths and with different root move orders so they fill the table with work the
+ * main thread can reuse. The main thread enforces the limits; once it finishes, or
+ * {@link #stop()} is called, all threads stop within a few thousand nodes.
+ *
+ * <p>The reported move comes from the deepest completed iteration of any thread, preferring the
+ * main thread on ties, and the node count is summed over all threads.
+ */
+public class ParallelSearch implements AutoCloseable {
+
+	private final AtomicBoolean stopSignal = new AtomicBoolean();
+	private final TranspositionTable table;
+	private final Search[] searches;
+	private final ExecutorService helpers;
+
+	public ParallelSearch(int threads) {
+		this(threads, new TranspositionTable(Search.DEFAULT_TABLE_MB));
+	}
+
+	public ParallelSearch(int threads, TranspositionTable table) {
+		if (threads < 1) {
+			throw new IllegalArgumentException("Thread count must be at least 1: " + threads);
+		}
+		this.table = table;
+		this.searches = new Search[threads];
+		for (int i = 0; i < threads; i++) {
+			searches[i] = new Search(table, stopSignal, i);
+		}
+		this.helpers = threads == 1 ? null : Executors.newFixedThreadPool(threads - 1, runnable -> {
+			Thread thread = new Thread(runnable, "search-helper");
+			thread.setDaemon(true);
+			return thread;
+		});
+	}
+
+	/**
+	 * Evaluates with the network on every thread; see {@link Search#setNetwork(NnueNetwork)}.
+	 */
+	public void setNetwork(NnueNetwork network) {
+		for (Search search : searches) {
+			search.setNetwork(network);
+		}
+	}
+
+	public int threads() {
+		return searches.length;
+	}
+
+	/**
+	 * Searches the position for its side to move. The given state is not modified.
+	 */
+	public SearchResult search(BoardState position, SearchLimits limits) {
+		return search(position, limits, Search.NO_GAME_KEYS);
+	}
+
+	/**
+	 * Searches the position as reached in a game; see
+	 * {@link Search#search(BoardState, SearchLimits, long[])}.
+	 */
+	public SearchResult search(BoardState position, SearchLimits limits, long[] gameKeys) {
+		long start = System.nanoTime();
+		stopSignal.set(false);
+		// Submitting the helpers publishes the new age to them, so all of this search's work is stored under it
+		table.newSearch();
+
+		List<Future<SearchResult>> helperResults = new ArrayList<>(searches.length - 1);
+		for (int i = 1; i < searches.length; i++) {
+			Search helper = searches[i];
+			helperResults.add(helpers.submit(() -> helper.search(position, limits, gameKeys)));
+		}
+
+		SearchResult best = searches[0].search(position, limits, gameKeys);
+		stopSignal.set(true);
+
+		long nodes = best.nodes();
+		for (Future<SearchResult> future : helperResults) {
+			SearchResult result = await(future);
+			nodes += result.nodes();
+			// Depth 0 means no completed iteration; such a move only stands in when nothing better exists
+			if ((result.depth() > best.depth() || best.bestMove() == PackedMove.NONE)
+					&& result.bestMove() != PackedMove.NONE) {
+				best = result;
+			}
+		}
+		return new SearchResult(best.bestMove(), best.score(), best.depth(), nodes, System.nanoTime() - start,
+				best.principalVariation());
+	}
+
+	/**
+	 * Asks a running search to finish; safe to call from any thread.
+	 */
+	public void stop() {
+		stopSignal.set(true);
+	}
+
+	@Override
+	public void close() {
+		if (helpers != null) {
+			stopSignal.set(true);
+			helpers.shutdownNow();
+		}
+	}
+
+	private static SearchResult await(Future<SearchResult> future) {
+		try {
+			return future.get();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("Interrupted while waiting for search helpers", e);
+		} catch (ExecutionException e) {
+			throw new IllegalStateException("Search helper failed", e.getCause());
+		}
+	}
+
+}
@@ -0,0 +1,91 @@
+package dev.markconley.chess.engine.search;
+
+import java.util.Arrays;
+
+import dev.markconley.chess.engine.bitboard.BitboardPosition;
+import dev.markconley.chess.engine.core.Color;
+
+/**
+ * Cache of {@link PawnStructure} results keyed by {@link BitboardPosition#pawnKey()}. Pawn moves
+ * are rare compared to piece moves, so almost every lookup in a search hits. Entries are always
+ * replaced on a miss.
+ *
+ * <p>Not thread safe: each search thread keeps its own table.
+ */
+public class PawnHashTable {
+
+	public static final int DEFAULT_ENTRIES = 1 << 14;
+
+	private final long[] keys;
+	private final int[] scores;
+	// Two masks per entry: White's passed pawns, then Black's
+	private final long[] passedPawns;
+	private final int mask;
+	private long probes;
+	private long hits;
+
+	/**
+	 * @param entries number of entries, a power of two
+	 */
+	public PawnHashTable(int entries) {
+		if (entries <= 0 || Integer.bitCount(entries) != 1) {
+			throw new IllegalArgumentException("Entry count must be a positive power of two: " + entries);
+		}
+		this.keys = new long[entries];
+		this.scores = new int[entries];
+		this.passedPawns = new long[2 * entries];
+		this.mask = entries - 1;
+	}
+
+	/**
+	 * Packed pawn-structure score of the position, White minus Black.
+	 */
+	public int score(BitboardPosition bitboards) {
+		return scores[probe(bitboards)];
+	}
+
+	public long passedPawns(BitboardPosition bitboards, Color color) {
+		return passedPawns[2 * probe(bitboards) + color.ordinal()];
+	}
+
+	/**
+	 * Index of the entry for the position's pawn key, computed and stored first on a miss. An
+	 * unused entry looks like key 0 with all-zero results, which is exactly what a board without
+	 * pawns or kings evaluates to, so it needs no separate valid flag.
+	 */
+	private int probe(BitboardPosition bitboards) {
+		long key = bitboards.pawnKey();
+		int index = (int) key & mask;
+		probes++;
+		if (keys[index] == key) {
+			hits++;
+			return index;
+		}
+		keys[index] = key;
+		scores[index] = PawnStructure.evaluate(bitboards);
+		passedPawns[2 * index] = PawnStructure.passedPawns(bitboards, Color.WHITE);
+		passedPawns[2 * index + 1] = PawnStructure.passedPawns(bitboards, Color.BLACK);
+		return index;
+	}
+
+	public long probes() {
+		return probes;
+	}
+
+	public long hits() {
+		return hits;
+	}
+
+	public double hitRate() {
+		return probes == 0 ? 0.0 : (double) hits / probes;
+	}
+
+	public void clear() {
+		Arrays.fill(keys, 0L);
+		Arrays.fill(scores, 0);
+		Arrays.fill(passedPawns, 0L);
+		probes = 0;
+		hits = 0;
+	}
+
+}
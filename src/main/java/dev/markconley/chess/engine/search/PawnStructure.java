@@ -0,0 +1,161 @@
+package dev.markconley.chess.engine.search;
+
+import dev.markconley.chess.engine.bitboard.AttackTables;
+import dev.markconley.chess.engine.bitboard.Bitboard;
+import dev.markconley.chess.engine.bitboard.BitboardPosition;
+import dev.markconley.chess.engine.core.Color;
+import dev.markconley.chess.engine.pieces.PieceType;
+
+/**
+ * Pawn-structure terms: doubled, isolated, backward and passed pawns, and the pawn shield in
+ * front of each king. They depend on nothing but the pawns and kings, so {@link PawnHashTable}
+ * caches them by {@link BitboardPosition#pawnKey()}.
+ *
+ * <p>Scores are packed middlegame/endgame pairs (see {@link #score(int, int)}) from White's point
+ * of view; packed scores add and subtract like plain ints.
+ */
+public final class PawnStructure {
+
+	private static final int DOUBLED_MG = -10;
+	private static final int DOUBLED_EG = -20;
+	private static final int ISOLATED_MG = -10;
+	private static final int ISOLATED_EG = -15;
+	private static final int BACKWARD_MG = -8;
+	private static final int BACKWARD_EG = -10;
+	private static final int SHIELD_MG = 12;
+	// Indexed by rank from the pawn's own side
+	private static final int[] PASSED_MG = { 0, 5, 10, 15, 25, 40, 60, 0 };
+	private static final int[] PASSED_EG = { 0, 10, 20, 35, 60, 100, 150, 0 };
+
+	private static final long[] ADJACENT_FILES = new long[8];
+	// Per color and square: the same and adjacent files ahead of it, which must be free of enemy
+	// pawns for a passer; the same file ahead; the adjacent files level with it and behind, where
+	// a pawn could still support it; and the three files over the two ranks ahead of a king
+	private static final long[][] PASSED_SPAN = new long[2][64];
+	private static final long[][] FILE_AHEAD = new long[2][64];
+	private static final long[][] SUPPORT_SPAN = new long[2][64];
+	private static final long[][] SHIELD = new long[2][64];
+
+	static {
+		for (int file = 0; file < 8; file++) {
+			ADJACENT_FILES[file] = (file > 0 ? Bitboard.FILE_A << (file - 1) : 0L)
+					| (file < 7 ? Bitboard.FILE_A << (file + 1) : 0L);
+		}
+		for (Color color : Color.values()) {
+			int c = color.ordinal();
+			for (int square = 0; square < 64; square++) {
+				int row = Bitboard.row(square);
+				int file = Bitboard.col(square);
+				long fileMask = Bitboard.FILE_A << file;
+				long sides = ADJACENT_FILES[file];
+				long ahead = 0L;
+				long levelAndBehind = 0L;
+				long nextTwo = 0L;
+				for (int r = 0; r < 8; r++) {
+					long rank = Bitboard.RANK_1 << (8 * r);
+					int distance = color == Color.WHITE ? r - row : row - r;
+					if (distance > 0) {
+						ahead |= rank;
+					} else {
+						levelAndBehind |= rank;
+					}
+					if (distance == 1 || distance == 2) {
+						nextTwo |= rank;
+					}
+				}
+				PASSED_SPAN[c][square] = ahead & (fileMask | sides);
+				FILE_AHEAD[c][square] = ahead & fileMask;
+				SUPPORT_SPAN[c][square] = levelAndBehind & sides;
+				SHIELD[c][square] = nextTwo & (fileMask | sides);
+			}
+		}
+	}
+
+	private PawnStructure() { } // Utility class
+
+	/**
+	 * Packs a middlegame and an endgame value into one int, endgame in the upper half.
+	 */
+	public static int score(int middlegame, int endgame) {
+		return (endgame << 16) + middlegame;
+	}
+
+	public static int middlegame(int score) {
+		return (short) score;
+	}
+
+	public static int endgame(int score) {
+		return (short) ((score + 0x8000) >> 16);
+	}
+
+	/**
+	 * Packed pawn-structure score, White minus Black.
+	 */
+	public static int evaluate(BitboardPosition bitboards) {
+		return evaluate(bitboards, Color.WHITE) - evaluate(bitboards, Color.BLACK);
+	}
+
+	/**
+	 * Pawns of the given color with no enemy pawn ahead of them on their own or an adjacent file.
+	 */
+	public static long passedPawns(BitboardPosition bitboards, Color color) {
+		long own = bitboards.pieces(color, PieceType.PAWN);
+		long enemy = bitboards.pieces(color.opposite(), PieceType.PAWN);
+		long passed = 0L;
+		long pawns = own;
+		while (pawns != 0) {
+			int square = Bitboard.lsb(pawns);
+			if ((PASSED_SPAN[color.ordinal()][square] & enemy) == 0) {
+				passed |= Bitboard.bit(square);
+			}
+			pawns = Bitboard.popLsb(pawns);
+		}
+		return passed;
+	}
+
+	private static int evaluate(BitboardPosition bitboards, Color color) {
+		int c = color.ordinal();
+		long own = bitboards.pieces(color, PieceType.PAWN);
+		long enemy = bitboards.pieces(color.opposite(), PieceType.PAWN);
+		int forward = color == Color.WHITE ? 8 : -8;
+		int mg = 0;
+		int eg = 0;
+
+		long pawns = own;
+		while (pawns != 0) {
+			int square = Bitboard.lsb(pawns);
+			pawns = Bitboard.popLsb(pawns);
+			int file = Bitboard.col(square);
+			int rank = color == Color.WHITE ? Bitboard.row(square) : 7 - Bitboard.row(square);
+
+			// Only the rear pawn of a doubled pair is penalised, so each extra pawn counts once
+			if ((FILE_AHEAD[c][square] & own) != 0) {
+				mg += DOUBLED_MG;
+				eg += DOUBLED_EG;
+			}
+
+			boolean isolated = (own & ADJACENT_FILES[file]) == 0;
+			if (isolated) {
+				mg += ISOLATED_MG;
+				eg += ISOLATED_EG;
+			}
+
+			if ((PASSED_SPAN[c][square] & enemy) == 0) {
+				mg += PASSED_MG[rank];
+				eg += PASSED_EG[rank];
+			} else if (!isolated && (SUPPORT_SPAN[c][square] & own) == 0
+					&& (AttackTables.pawnAttacks(color, square + forward) & enemy) != 0) {
+				// No neighbour can come up to support it and advancing walks into a pawn capture
+				mg += BACKWARD_MG;
+				eg += BACKWARD_EG;
+			}
+		}
+
+		int king = bitboards.kingSquare(color);
+		if (king >= 0) {
+			mg += SHIELD_MG * Bitboard.count(SHIELD[c][king] & own);
+		}
+		return score(mg, eg);
+	}
+
+}
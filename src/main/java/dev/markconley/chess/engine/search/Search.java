@@ -0,0 +1,433 @@
+package dev.markconley.chess.engine.search;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import dev.markconley.chess.engine.core.Color;
+import dev.markconley.chess.engine.move.LegalMoveGenerator;
+import dev.markconley.chess.engine.move.MoveExecutor;
+import dev.markconley.chess.engine.move.MoveList;
+import dev.markconley.chess.engine.move.PackedMove;
+import dev.markconley.chess.engine.nnue.NnueAccumulator;
+import dev.markconley.chess.engine.nnue.NnueNetwork;
+import dev.markconley.chess.engine.state.BoardState;
+import dev.markconley.chess.engine.state.GameStateEvaluator;
+
+/**
+ * Negamax alpha-beta search with iterative deepening. The tree is walked with make/unmake on a
+ * single copy of the root position, with one reusable move buffer per ply, so the inner loop
+ * does not allocate. Every node is looked up in a {@link TranspositionTable}: a deep enough entry
+ * with a usable bound cuts the node off, and otherwise its move is searched first. A
+ * {@link MovePicker} hands out the rest in {@link MoveOrderer} order, generating quiet moves only
+ * if no capture or refutation has already cut the node off. At depth zero a quiescence search keeps playing
+ * captures until the position is quiet, so the evaluation is never taken in the middle of an
+ * exchange; captures that {@link StaticExchange} shows to lose material are skipped. An iteration
+ * cut short by the node or time budget is thrown away and the best move of the previous one is
+ * kept. A position that repeats one earlier in the search line, or one of the game positions
+ * since the last irreversible move, scores as a draw. If not even the first iteration completed, the result has depth 0 and score 0, and its
+ * move is the best root move searched so far.
+ *
+ * <p>A {@code Search} keeps per-search state and is not thread safe; use one per thread.
+ * {@link ParallelSearch} runs several of them over one shared table and stop signal.
+ */
+public class Search {
+
+	public static final int INFINITY = 32_000;
+	public static final int MATE = 31_000;
+	public static final int DRAW = 0;
+
+	// Room for the quiescence search to run past the deepest nominal depth
+	private static final int MAX_PLY = SearchLimits.MAX_DEPTH + 64;
+	// Margin over the captured piece below which a capture cannot bring the score back to alpha
+	private static final int DELTA_MARGIN = 200;
+	private static final int CHECK_INTERVAL = 2048;
+	static final long[] NO_GAME_KEYS = new long[0];
+	static final int DEFAULT_TABLE_MB = 16;
+
+	private final MoveExecutor moveExecutor = new MoveExecutor();
+	private final MoveList[] moveBuffers = new MoveList[MAX_PLY];
+	private final int[] playedMoves = new int[MAX_PLY];
+	// Game keys since the last irreversible move, then the key of every node on the current line
+	private long[] keyStack = new long[256 + MAX_PLY];
+	private int rootIndex;
+	private final MoveOrderer orderer = new MoveOrderer(MAX_PLY);
+	private final MovePicker[] pickers = new MovePicker[MAX_PLY];
+	private final PawnHashTable pawnTable = new PawnHashTable(PawnHashTable.DEFAULT_ENTRIES);
+	private NnueNetwork network;
+	private NnueAccumulator accumulator;
+	private final TranspositionTable table;
+	private final AtomicBoolean stopSignal;
+	private final boolean ownsStopSignal;
+	private final int helperId;
+
+	private BoardState state;
+	private SearchLimits limits;
+	private long deadline;
+	private long nodes;
+	private boolean stopped;
+	private int rootBestMove;
+
+	public Search() {
+		this(new TranspositionTable(DEFAULT_TABLE_MB));
+	}
+
+	public Search(TranspositionTable table) {
+		this(table, new AtomicBoolean(), true, 0);
+	}
+
+	/**
+	 * Search thread {@code helperId} of a {@link ParallelSearch}. Thread 0 is the main thread: it
+	 * enforces the node and time limits and raises the shared stop signal. Helpers only watch
+	 * the signal and vary their start depth and root move order so the threads spread over
+	 * different parts of the tree.
+	 */
+	Search(TranspositionTable table, AtomicBoolean stopSignal, int helperId) {
+		this(table, stopSignal, false, helperId);
+	}
+
+	private Search(TranspositionTable table, AtomicBoolean stopSignal, boolean ownsStopSignal, int helperId) {
+		this.table = table;
+		this.stopSignal = stopSignal;
+		this.ownsStopSignal = ownsStopSignal;
+		this.helperId = helperId;
+		for (int ply = 0; ply < MAX_PLY; ply++) {
+			moveBuffers[ply] = new MoveList();
+			pickers[ply] = new MovePicker(orderer);
+		}
+	}
+
+	/**
+	 * Evaluates positions with the network instead of {@link Evaluator}, or goes back to the
+	 * hand-written evaluation when {@code null}. Takes effect from the next search.
+	 */
+	public void setNetwork(NnueNetwork network) {
+		this.network = network;
+	}
+
+	/**
+	 * Searches the position for its side to move. The given state is not modified.
+	 */
+	public SearchResult search(BoardState position, SearchLimits limits) {
+		return search(position, limits, NO_GAME_KEYS);
+	}
+
+	/**
+	 * Searches the position as reached in a game. {@code gameKeys} are the Zobrist keys of the
+	 * positions since the last irreversible move, oldest first, as kept by
+	 * {@link dev.markconley.chess.game.HistoryTracker#positionKeys()}; the position itself may be
+	 * the last of them. Moves back into any of those positions score as a draw.
+	 */
+	public SearchResult search(BoardState position, SearchLimits limits, long[] gameKeys) {
+		long start = System.nanoTime();
+		this.state = position.copy();
+		long rootKey = state.getZobristKey();
+		int history = gameKeys.length > 0 && gameKeys[gameKeys.length - 1] == rootKey ? gameKeys.length - 1
+				: gameKeys.length;
+		if (keyStack.length < history + MAX_PLY) {
+			keyStack = new long[history + MAX_PLY];
+		}
+		System.arraycopy(gameKeys, 0, keyStack, 0, history);
+		this.rootIndex = history;
+		this.accumulator = network == null ? null : new NnueAccumulator(network, state);
+		this.limits = limits;
+		this.deadline = limits.maxTimeMillis() > 0 ? start + limits.maxTimeMillis() * 1_000_000 : Long.MAX_VALUE;
+		this.nodes = 0;
+		this.stopped = false;
+		this.rootBestMove = PackedMove.NONE;
+		if (ownsStopSignal) {
+			stopSignal.set(false);
+		}
+		if (ownsStopSignal) {
+			// A ParallelSearch ages the shared table itself, before any of its threads start
+			table.newSearch();
+		}
+		orderer.newSearch();
+
+		int bestMove = PackedMove.NONE;
+		int bestScore = 0;
+		int completedDepth = 0;
+		int startDepth = Math.min(1 + (helperId & 1), limits.maxDepth());
+		for (int depth = startDepth; depth <= limits.maxDepth(); depth++) {
+			int score = negamax(depth, 0, -INFINITY, INFINITY);
+			if (stopped) {
+				if (completedDepth == 0) {
+					// Nothing completed: fall back to the best fully searched root move, if any
+					bestMove = rootBestMove;
+				}
+				break;
+			}
+			bestMove = rootBestMove;
+			bestScore = score;
+			completedDepth = depth;
+			if (bestMove == PackedMove.NONE || Math.abs(score) >= MATE - MAX_PLY) {
+				break;
+			}
+		}
+		int[] pv = bestMove == PackedMove.NONE ? new int[0]
+				: principalVariation(bestMove, Math.max(1, completedDepth));
+		return new SearchResult(bestMove, bestScore, completedDepth, nodes, System.nanoTime() - start, pv);
+	}
+
+	/**
+	 * Asks the running search to finish. It stops within a few thousand nodes and returns the
+	 * best move of its last completed iteration. Safe to call from any thread.
+	 */
+	public void stop() {
+		stopSignal.set(true);
+	}
+
+	/**
+	 * The best move followed by the table moves of the positions after it, as long as they are
+	 * legal.
+	 */
+	private int[] principalVariation(int bestMove, int maxLength) {
+		int[] pv = new int[maxLength];
+		pv[0] = bestMove;
+		moveExecutor.makeMove(state, bestMove);
+		int length = 1;
+		while (length < maxLength) {
+			long entry = table.probe(state.getZobristKey());
+			int move = entry == TranspositionTable.MISS ? PackedMove.NONE : TranspositionTable.move(entry);
+			MoveList moves = moveBuffers[length];
+			moves.clear();
+			LegalMoveGenerator.generateLegalMoves(state, state.getCurrentTurn(), moves);
+			if (move == PackedMove.NONE || !moves.contains(move)) {
+				break;
+			}
+			moveExecutor.makeMove(state, move);
+			pv[length++] = move;
+		}
+		for (int i = length - 1; i >= 0; i--) {
+			moveExecutor.unmakeMove(state, pv[i]);
+		}
+		return Arrays.copyOf(pv, length);
+	}
+
+	private int negamax(int depth, int ply, int alpha, int beta) {
+		if (++nodes % CHECK_INTERVAL == 0) {
+			checkLimits();
+		}
+		if (stopped) {
+			return 0;
+		}
+
+		long key = state.getZobristKey();
+		keyStack[rootIndex + ply] = key;
+		if (ply > 0 && (state.getHalfMoveClock() >= 100 || isRepetition(rootIndex + ply, key))) {
+			return DRAW;
+		}
+
+		if (depth == 0) {
+			return quiescence(ply, alpha, beta);
+		}
+
+		long entry = table.probe(key);
+		int ttMove = PackedMove.NONE;
+		if (entry != TranspositionTable.MISS) {
+			ttMove = TranspositionTable.move(entry);
+			if (ply > 0 && TranspositionTable.depth(entry) >= depth) {
+				int score = scoreFromTable(TranspositionTable.score(entry), ply);
+				int bound = TranspositionTable.bound(entry);
+				if (bound == TranspositionTable.BOUND_EXACT
+						|| (bound == TranspositionTable.BOUND_LOWER && score >= beta)
+						|| (bound == TranspositionTable.BOUND_UPPER && score <= alpha)) {
+					return score;
+				}
+			}
+		}
+
+		Color color = state.getCurrentTurn();
+		boolean inCheck = GameStateEvaluator.isInCheck(state, color);
+		int previousMove = ply > 0 ? playedMoves[ply - 1] : PackedMove.NONE;
+		MovePicker picker = pickers[ply];
+		if (ply == 0 || inCheck) {
+			// The root wants the whole list for helper reordering; evasions are few anyway
+			picker.resetAll(state, ply, ttMove, previousMove);
+			int count = picker.moves().size();
+			if (ply == 0 && helperId > 0 && count > 2) {
+				orderer.promote(ply, 1 + helperId % (count - 1));
+			}
+		} else {
+			picker.reset(state, ply, ttMove, previousMove);
+		}
+
+		MoveList quietsTried = moveBuffers[ply];
+		quietsTried.clear();
+		int originalAlpha = alpha;
+		int best = -INFINITY;
+		int bestMove = PackedMove.NONE;
+		int move;
+		while ((move = picker.next()) != PackedMove.NONE) {
+			boolean quiet = MoveOrderer.isQuiet(move);
+			if (quiet) {
+				quietsTried.add(move);
+			}
+			playedMoves[ply] = move;
+			moveExecutor.makeMove(state, move);
+			int score = -negamax(depth - 1, ply + 1, -beta, -alpha);
+			moveExecutor.unmakeMove(state, move);
+			if (stopped) {
+				return 0;
+			}
+
+			if (score > best) {
+				best = score;
+				bestMove = move;
+				if (ply == 0) {
+					rootBestMove = move;
+				}
+				if (score > alpha) {
+					alpha = score;
+					if (alpha >= beta) {
+						if (quiet) {
+							orderer.updateQuietCutoff(quietsTried, quietsTried.size() - 1, ply, depth, color,
+									previousMove);
+						}
+						break;
+					}
+				}
+			}
+		}
+		if (bestMove == PackedMove.NONE) {
+			return inCheck ? -MATE + ply : DRAW;
+		}
+
+		int bound = best >= beta ? TranspositionTable.BOUND_LOWER
+				: best > originalAlpha ? TranspositionTable.BOUND_EXACT
+				: TranspositionTable.BOUND_UPPER;
+		table.store(key, bestMove, scoreToTable(best, ply), depth, bound);
+		return best;
+	}
+
+	/**
+	 * Searches captures only, with the static evaluation as a stand-pat lower bound: the side to
+	 * move is never forced to capture. In check there is no standing pat and every evasion is
+	 * searched, so mates at the horizon are still found.
+	 */
+	private int quiescence(int ply, int alpha, int beta) {
+		if (++nodes % CHECK_INTERVAL == 0) {
+			checkLimits();
+		}
+		if (stopped) {
+			return 0;
+		}
+		if (ply >= MAX_PLY - 1) {
+			return evaluate();
+		}
+
+		Color color = state.getCurrentTurn();
+		boolean inCheck = GameStateEvaluator.isInCheck(state, color);
+		MoveList moves = moveBuffers[ply];
+		moves.clear();
+		int best;
+		int standPat = 0;
+		if (inCheck) {
+			LegalMoveGenerator.generateLegalMoves(state, color, moves);
+			if (moves.isEmpty()) {
+				return -MATE + ply;
+			}
+			best = -INFINITY;
+		} else {
+			standPat = evaluate();
+			if (standPat >= beta) {
+				return standPat;
+			}
+			alpha = Math.max(alpha, standPat);
+			best = standPat;
+			LegalMoveGenerator.generateLegalCaptures(state, color, moves);
+		}
+
+		int previousMove = ply > 0 ? playedMoves[ply - 1] : PackedMove.NONE;
+		orderer.score(moves, ply, color, PackedMove.NONE, previousMove);
+		for (int i = 0; i < moves.size(); i++) {
+			int move = orderer.next(moves, ply, i);
+			if (!inCheck) {
+				// Delta pruning: even winning the captured piece outright cannot reach alpha
+				if (!PackedMove.isPromotion(move) && PackedMove.capturedType(move) != null
+						&& standPat + Evaluator.pieceValue(PackedMove.capturedType(move)) + DELTA_MARGIN <= alpha) {
+					continue;
+				}
+				if (!StaticExchange.isAtLeast(state, move, 0)) {
+					continue;
+				}
+			}
+
+			playedMoves[ply] = move;
+			moveExecutor.makeMove(state, move);
+			int score = -quiescence(ply + 1, -beta, -alpha);
+			moveExecutor.unmakeMove(state, move);
+			if (stopped) {
+				return 0;
+			}
+
+			if (score > best) {
+				best = score;
+				if (score > alpha) {
+					alpha = score;
+					if (alpha >= beta) {
+						break;
+					}
+				}
+			}
+		}
+		return best;
+	}
+
+	/**
+	 * Whether the key occurs earlier in the stack with the same side to move. Positions before
+	 * the last capture or pawn move cannot recur, so the scan stops at the half-move clock.
+	 */
+	private boolean isRepetition(int index, long key) {
+		int oldest = Math.max(0, index - state.getHalfMoveClock());
+		for (int i = index - 4; i >= oldest; i -= 2) {
+			if (keyStack[i] == key) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private int evaluate() {
+		return accumulator != null ? accumulator.evaluate(state.getCurrentTurn()) : Evaluator.evaluate(state, pawnTable);
+	}
+
+	// Mate scores are stored relative to the node, not the root, so they stay valid at any ply
+	private static int scoreToTable(int score, int ply) {
+		if (score >= MATE - MAX_PLY) {
+			return score + ply;
+		}
+		if (score <= -MATE + MAX_PLY) {
+			return score - ply;
+		}
+		return score;
+	}
+
+	private static int scoreFromTable(int score, int ply) {
+		if (score >= MATE - MAX_PLY) {
+			return score - ply;
+		}
+		if (score <= -MATE + MAX_PLY) {
+			return score + ply;
+		}
+		return score;
+	}
+
+	private void checkLimits() {
+		if (helperId == 0
+				&& ((limits.maxNodes() > 0 && nodes >= limits.maxNodes()) || System.nanoTime() >= deadline)) {
+			stopSignal.set(true);
+		}
+		if (stopSignal.get()) {
+			stopped = true;
+		}
+	}
+
+	public long nodes() {
+		return nodes;
+	}
+
+	PawnHashTable pawnTable() {
+		return pawnTable;
+	}
+
+}
@@ -0,0 +1,32 @@
+package dev.markconley.chess.engine.search;
+
+/**
+ * Budget for one search. The search stops at whichever limit is reached first; a limit of zero
+ * means unlimited for nodes and time.
+ */
+public record SearchLimits(int maxDepth, long maxNodes, long maxTimeMillis) {
+
+	public static final int MAX_DEPTH = 64;
+
+	public SearchLimits {
+		if (maxDepth < 1 || maxDepth > MAX_DEPTH) {
+			throw new IllegalArgumentException("Depth must be between 1 and " + MAX_DEPTH + ": " + maxDepth);
+		}
+		if (maxNodes < 0 || maxTimeMillis < 0) {
+			throw new IllegalArgumentException("Limits must not be negative");
+		}
+	}
+
+	public static SearchLimits depth(int depth) {
+		return new SearchLimits(depth, 0, 0);
+	}
+
+	public static SearchLimits nodes(long nodes) {
+		return new SearchLimits(MAX_DEPTH, nodes, 0);
+	}
+
+	public static SearchLimits time(long millis) {
+		return new SearchLimits(MAX_DEPTH, 0, millis);
+	}
+
+}
@@ -0,0 +1,35 @@
+package dev.markconley.chess.engine.search;
+
+import dev.markconley.chess.engine.move.PackedMove;
+
+/**
+ * Outcome of the deepest completed iteration. {@code bestMove} is a {@link PackedMove}, or
+ * {@link PackedMove#NONE} when the side to move has no legal move; {@code principalVariation}
+ * starts with it and is empty in that case. A search stopped before its first iteration completed
+ * reports depth 0 and score 0.
+ */
+public record SearchResult(int bestMove, int score, int depth, long nodes, long elapsedNanos,
+		int[] principalVariation) {
+
+	public double nodesPerSecond() {
+		return elapsedNanos == 0 ? 0 : nodes * 1_000_000_000.0 / elapsedNanos;
+	}
+
+	@Override
+	public String toString() {
+		return "depth " + depth + " score " + score + " nodes " + nodes + " nps " + Math.round(nodesPerSecond())
+				+ " pv " + pvString();
+	}
+
+	public String pvString() {
+		StringBuilder sb = new StringBuilder();
+		for (int move : principalVariation) {
+			if (sb.length() > 0) {
+				sb.append(' ');
+			}
+			sb.append(PackedMove.toString(move));
+		}
+		return sb.toString();
+	}
+
+}
@@ -0,0 +1,167 @@
+package dev.markconley.chess.engine.search;
+
+import dev.markconley.chess.engine.bitboard.AttackTables;
+import dev.markconley.chess.engine.bitboard.Bitboard;
+import dev.markconley.chess.engine.bitboard.BitboardPosition;
+import dev.markconley.chess.engine.core.Color;
+import dev.markconley.chess.engine.move.PackedMove;
+import dev.markconley.chess.engine.pieces.PieceType;
+import dev.markconley.chess.engine.state.BoardState;
+
+/**
+ * Static exchange evaluation: the material outcome of the capture sequence a move starts on its
+ * destination square, with both sides always recapturing with their least valuable attacker and
+ * free to stop when continuing would lose. Attackers come from one attackers-to-square query;
+ * as pieces leave the square's lines, only the sliders behind them are looked up again.
+ * Pins are ignored.
+ */
+public final class StaticExchange {
+
+	// Exchange order, cheapest attacker first
+	private static final PieceType[] ATTACKER_ORDER = {
+			PieceType.PAWN, PieceType.KNIGHT, PieceType.BISHOP, PieceType.ROOK, PieceType.QUEEN, PieceType.KING };
+
+	private StaticExchange() { } // Utility class
+
+	/**
+	 * Whether the exchange started by the move wins at least {@code threshold} centipawns.
+	 * Castling, en passant and promotions are treated as an even exchange.
+	 */
+	public static boolean isAtLeast(BoardState state, int move, int threshold) {
+		if (!isPlainMove(move)) {
+			return threshold <= 0;
+		}
+
+		BitboardPosition bitboards = state.getBoard().getBitboards();
+		int from = PackedMove.from(move);
+		int to = PackedMove.to(move);
+
+		PieceType captured = PackedMove.capturedType(move);
+		int swap = (captured == null ? 0 : Evaluator.pieceValue(captured)) - threshold;
+		if (swap < 0) {
+			return false;
+		}
+		swap = Evaluator.pieceValue(PackedMove.movedType(move)) - swap;
+		if (swap <= 0) {
+			return true;
+		}
+
+		long occupied = bitboards.occupied() ^ Bitboard.bit(from) ^ Bitboard.bit(to);
+		long attackers = bitboards.attackersTo(to, occupied);
+		Color side = Bitboard.contains(bitboards.occupancy(Color.WHITE), from) ? Color.WHITE : Color.BLACK;
+		int result = 1;
+
+		while (true) {
+			side = side.opposite();
+			attackers &= occupied;
+			long sideAttackers = attackers & bitboards.occupancy(side);
+			if (sideAttackers == 0) {
+				break;
+			}
+			result ^= 1;
+
+			PieceType attacker = leastValuable(bitboards, side, sideAttackers);
+			if (attacker == PieceType.KING) {
+				// The king may only take last: if the other side still attacks, the capture is illegal
+				return (attackers & bitboards.occupancy(side.opposite())) != 0 ? (result ^ 1) != 0 : result != 0;
+			}
+
+			swap = Evaluator.pieceValue(attacker) - swap;
+			if (swap < result) {
+				break;
+			}
+			occupied ^= Bitboard.bit(Bitboard.lsb(sideAttackers & bitboards.pieces(side, attacker)));
+			attackers |= revealedSliders(bitboards, attacker, to, occupied);
+		}
+		return result != 0;
+	}
+
+	/**
+	 * Material balance of the exchange the move starts, in centipawns, from the mover's point of
+	 * view. Castling scores 0 and en passant the pawn; promotions add the promotion gain and are
+	 * not followed further. Allocates nothing.
+	 */
+	public static int evaluate(BoardState state, int move) {
+		if (PackedMove.isCastling(move)) {
+			return 0;
+		}
+		PieceType captured = PackedMove.capturedType(move);
+		int capturedValue = captured == null ? 0 : Evaluator.pieceValue(captured);
+		if (PackedMove.isEnPassant(move)) {
+			return capturedValue;
+		}
+		if (PackedMove.isPromotion(move)) {
+			return capturedValue + Evaluator.pieceValue(PackedMove.promotionType(move))
+					- Evaluator.pieceValue(PieceType.PAWN);
+		}
+
+		BitboardPosition bitboards = state.getBoard().getBitboards();
+		int from = PackedMove.from(move);
+		int to = PackedMove.to(move);
+		long occupied = bitboards.occupied() ^ Bitboard.bit(from);
+		long attackers = bitboards.attackersTo(to, occupied) & occupied;
+		Color mover = Bitboard.contains(bitboards.occupancy(Color.WHITE), from) ? Color.WHITE : Color.BLACK;
+		Color side = mover;
+		int onSquare = Evaluator.pieceValue(PackedMove.movedType(move));
+
+		// Either side may stop wherever continuing would cost them. Walking forward, each stop the
+		// mover could take raises the lower bound on the result and each stop of the opponent lowers
+		// the upper bound, so no swap list is needed; once the bounds meet the rest cannot matter.
+		int balance = capturedValue;
+		int lower = Integer.MIN_VALUE;
+		int upper = Integer.MAX_VALUE;
+		while (true) {
+			side = side.opposite();
+			if (side == mover) {
+				if (balance >= upper) {
+					return upper;
+				}
+				lower = Math.max(lower, balance);
+			} else {
+				if (balance <= lower) {
+					return lower;
+				}
+				upper = Math.min(upper, balance);
+			}
+
+			long sideAttackers = attackers & bitboards.occupancy(side);
+			if (sideAttackers == 0) {
+				break;
+			}
+			PieceType attacker = leastValuable(bitboards, side, sideAttackers);
+			if (attacker == PieceType.KING && (attackers & bitboards.occupancy(side.opposite())) != 0) {
+				break;
+			}
+			balance += side == mover ? onSquare : -onSquare;
+			onSquare = Evaluator.pieceValue(attacker);
+			occupied ^= Bitboard.bit(Bitboard.lsb(sideAttackers & bitboards.pieces(side, attacker)));
+			attackers = (attackers | revealedSliders(bitboards, attacker, to, occupied)) & occupied;
+		}
+		return Math.max(lower, Math.min(balance, upper));
+	}
+
+	private static boolean isPlainMove(int move) {
+		return !PackedMove.isCastling(move) && !PackedMove.isEnPassant(move) && !PackedMove.isPromotion(move);
+	}
+
+	private static PieceType leastValuable(BitboardPosition bitboards, Color side, long sideAttackers) {
+		for (PieceType type : ATTACKER_ORDER) {
+			if ((sideAttackers & bitboards.pieces(side, type)) != 0) {
+				return type;
+			}
+		}
+		throw new IllegalStateException("No attacker among " + Long.toHexString(sideAttackers));
+	}
+
+	// Removing a piece from the square's lines can uncover a slider behind it on the same line
+	private static long revealedSliders(BitboardPosition bitboards, PieceType removed, int square, long occupied) {
+		return switch (removed) {
+		case PAWN, BISHOP -> AttackTables.bishopAttacks(square, occupied) & bitboards.diagonalSliders();
+		case ROOK -> AttackTables.rookAttacks(square, occupied) & bitboards.orthogonalSliders();
+		case QUEEN -> (AttackTables.bishopAttacks(square, occupied) & bitboards.diagonalSliders())
+				| (AttackTables.rookAttacks(square, occupied) & bitboards.orthogonalSliders());
+		default -> 0L;
+		};
+	}
+
+}
@@ -0,0 +1,134 @@
+package dev.markconley.chess.engine.search;
+
+import java.util.Arrays;
+
+/**
+ * Fixed-size transposition table in a flat {@code long[]}. Each entry is two longs, the key XOR
+ * the data word followed by the data word, and four entries form a 64-byte bucket chosen by the
+ * low bits of the key. A read recomputes the key from both words, so an entry torn by a
+ * concurrent write simply misses; no locks are taken on either path.
+ *
+ * <p>Data word layout: move (bits 0-21), score + 32768 (22-37), depth (38-45), bound (46-47) and
+ * search age (48-55). A data word of zero marks an empty entry.
+ */
+public final class TranspositionTable {
+
+	public static final long MISS = 0L;
+
+	public static final int BOUND_EXACT = 1;
+	public static final int BOUND_LOWER = 2;
+	public static final int BOUND_UPPER = 3;
+
+	private static final int BUCKET_ENTRIES = 4;
+	private static final int BYTES_PER_ENTRY = 16;
+
+	private static final int MOVE_BITS = 22;
+	private static final int SCORE_SHIFT = 22;
+	private static final int DEPTH_SHIFT = 38;
+	private static final int BOUND_SHIFT = 46;
+	private static final int AGE_SHIFT = 48;
+	private static final int SCORE_OFFSET = 1 << 15;
+
+	private final long[] table;
+	private final int bucketMask;
+	private int age;
+
+	/**
+	 * @param megabytes table size, rounded down to a power-of-two number of buckets
+	 */
+	public TranspositionTable(int megabytes) {
+		if (megabytes < 1) {
+			throw new IllegalArgumentException("Table size must be at least 1 MB: " + megabytes);
+		}
+		long entries = (long) megabytes * 1024 * 1024 / BYTES_PER_ENTRY;
+		long buckets = Long.highestOneBit(Math.min(entries / BUCKET_ENTRIES, 1L << 26));
+		this.table = new long[(int) buckets * BUCKET_ENTRIES * 2];
+		this.bucketMask = (int) buckets - 1;
+	}
+
+	/**
+	 * Data word stored for the key, or {@link #MISS}. Unpack it with the static accessors.
+	 */
+	public long probe(long key) {
+		int base = bucket(key);
+		for (int i = base; i < base + BUCKET_ENTRIES * 2; i += 2) {
+			long data = table[i + 1];
+			if (data != MISS && (table[i] ^ data) == key) {
+				return data;
+			}
+		}
+		return MISS;
+	}
+
+	/**
+	 * Stores the entry in the key's bucket. An entry for the same key is overwritten, keeping its
+	 * move if the new one has none; otherwise the entry from the oldest search with the least
+	 * depth is replaced.
+	 */
+	public void store(long key, int move, int score, int depth, int bound) {
+		int base = bucket(key);
+		int target = base;
+		int worst = Integer.MAX_VALUE;
+		for (int i = base; i < base + BUCKET_ENTRIES * 2; i += 2) {
+			long data = table[i + 1];
+			if (data == MISS || (table[i] ^ data) == key) {
+				target = i;
+				if (move == 0 && data != MISS) {
+					move = move(data);
+				}
+				break;
+			}
+			int value = depth(data) - 8 * ((age - age(data)) & 0xFF);
+			if (value < worst) {
+				worst = value;
+				target = i;
+			}
+		}
+
+		long data = (move & ((1L << MOVE_BITS) - 1))
+				| ((long) (score + SCORE_OFFSET) << SCORE_SHIFT)
+				| ((long) depth << DEPTH_SHIFT)
+				| ((long) bound << BOUND_SHIFT)
+				| ((long) age << AGE_SHIFT);
+		table[target] = key ^ data;
+		table[target + 1] = data;
+	}
+
+	/**
+	 * Marks the start of a new search so that entries from earlier searches are replaced first.
+	 * The age is a plain field: call this before the threads that store into the table start.
+	 */
+	public void newSearch() {
+		age = (age + 1) & 0xFF;
+	}
+
+	public void clear() {
+		Arrays.fill(table, 0L);
+		age = 0;
+	}
+
+	public static int move(long data) {
+		return (int) (data & ((1L << MOVE_BITS) - 1));
+	}
+
+	public static int score(long data) {
+		return (int) ((data >>> SCORE_SHIFT) & 0xFFFF) - SCORE_OFFSET;
+	}
+
+	public static int depth(long data) {
+		return (int) ((data >>> DEPTH_SHIFT) & 0xFF);
+	}
+
+	public static int bound(long data) {
+		return (int) ((data >>> BOUND_SHIFT) & 0x3);
+	}
+
+	private static int age(long data) {
+		return (int) ((data >>> AGE_SHIFT) & 0xFF);
+	}
+
+	private int bucket(long key) {
+		return ((int) key & bucketMask) * BUCKET_ENTRIES * 2;
+	}
+
+}
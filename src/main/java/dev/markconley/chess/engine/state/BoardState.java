@@ -3,27 +3,35 @@ package dev.markconley.chess.engine.state;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
-import java.util.Objects;
 import java.util.function.Predicate;
 
+import dev.markconley.chess.engine.bitboard.AttackMap;
+import dev.markconley.chess.engine.bitboard.AttackTables;
+import dev.markconley.chess.engine.bitboard.Bitboard;
+import dev.markconley.chess.engine.bitboard.Zobrist;
 import dev.markconley.chess.engine.board.Board;
 import dev.markconley.chess.engine.core.Color;
 import dev.markconley.chess.engine.core.Copyable;
 import dev.markconley.chess.engine.core.Position;
-import dev.markconley.chess.engine.move.AttackMapGenerator;
 import dev.markconley.chess.engine.move.LastMove;
 import dev.markconley.chess.engine.move.Move;
 import dev.markconley.chess.engine.move.service.SpecialMoveService;
 import dev.markconley.chess.engine.pieces.Piece;
+import dev.markconley.chess.engine.pieces.PieceType;
 
 public class BoardState implements Copyable<BoardState> {
 
+    public static final int NO_SQUARE = -1;
+
     private final Board board;
     private Color currentTurn;
     private final List<Move> moveHistory;
     private LastMove lastMove;
     private int halfMoveClock;
     private CastlingRights castlingRights;
+    private int enPassantSquare = NO_SQUARE;
+    private final UndoStack undoStack = new UndoStack();
+    private AttackMap attackMap;
     
 	private final SpecialMoveService specialMoveService = new SpecialMoveService();
 
@@ -35,23 +43,48 @@ public class BoardState implements Copyable<BoardState> {
     }
     
     public boolean isSquareAttacked(Position position, Color defenderColor) {
-        return getActivePieces(defenderColor.opposite()).stream()
-            .flatMap(piece -> AttackMapGenerator.generateAttackSquares(board, piece).stream())
-            .anyMatch(position::equals);
+        return isAttackedBy(position.getSquare(), defenderColor.opposite());
+    }
+
+    /**
+     * Whether a piece of the attacker's color attacks the square, answered from the attack map
+     * when one is enabled and from the bitboards otherwise.
+     */
+    public boolean isAttackedBy(int square, Color attacker) {
+        if (attackMap != null) {
+            return attackMap.isAttacked(square, attacker);
+        }
+        return board.getBitboards().isSquareAttacked(square, attacker);
+    }
+
+    /**
+     * Starts keeping an incremental {@link AttackMap} for this state's board, so attack and check
+     * queries become table reads. Worth it for a game loop that asks often; copies do not keep one.
+     */
+    public AttackMap enableAttackMap() {
+        if (attackMap == null) {
+            attackMap = new AttackMap(board.getBitboards());
+        }
+        return attackMap;
+    }
+
+    /**
+     * The attack map enabled with {@link #enableAttackMap()}, or {@code null}.
+     */
+    public AttackMap getAttackMap() {
+        return attackMap;
     }
 	
     public List<Piece> getActivePieces(Predicate<Piece> filter) {
-    	return board.streamPieces()
-    		.filter(filter)
-    		.toList();
+    	return board.getActivePieces(filter);
     }
 
 	public List<Piece> getActivePieces(Color color) {
-		return getActivePieces(p -> p.getColor() == color);
+		return board.getActivePieces(color);
 	}
 
 	public List<Piece> getAllActivePieces() {
-		return getActivePieces(p -> true);
+		return board.getAllActivePieces();
 	}
 
     public Board getBoard() {
@@ -72,6 +105,7 @@ public class BoardState implements Copyable<BoardState> {
 
     public void recordMove(Move move) {
         this.lastMove = new LastMove(move.movedPiece(), move.from(), move.to());
+        this.enPassantSquare = enPassantSquareAfter(move);
         moveHistory.add(move);
     }
 
@@ -112,25 +146,36 @@ public class BoardState implements Copyable<BoardState> {
     }
 
     public Position getEnPassantTarget() {
-        if (lastMove == null) {
-        	return null;
-        }
+        return enPassantSquare == NO_SQUARE ? null : Bitboard.toPosition(enPassantSquare);
+    }
 
-        var piece = lastMove.piece();
-        var from = lastMove.from();
-        var to = lastMove.to();
+    public int getEnPassantSquare() {
+        return enPassantSquare;
+    }
 
-        if (!"PAWN".equals(piece.getPieceType().name())) {
-        	return null;
+    public void setEnPassantSquare(int enPassantSquare) {
+        this.enPassantSquare = enPassantSquare;
+    }
+
+    public UndoStack getUndoStack() {
+        return undoStack;
+    }
+
+    /**
+     * The square "behind" a pawn that has just moved two steps forward, or {@link #NO_SQUARE}.
+     */
+    public static int enPassantSquareAfter(Move move) {
+        if (move.movedPiece().getPieceType() != PieceType.PAWN) {
+            return NO_SQUARE;
         }
 
-        int rowDiff = Math.abs(from.getRow() - to.getRow());
-        if (rowDiff != 2) {
-        	return null;
+        int fromRow = move.from().getRow();
+        int toRow = move.to().getRow();
+        if (Math.abs(fromRow - toRow) != 2) {
+            return NO_SQUARE;
         }
 
-        int middleRow = (from.getRow() + to.getRow()) / 2;
-        return Position.of(middleRow, to.getCol());
+        return Bitboard.square((fromRow + toRow) / 2, move.to().getCol());
     }
 
     @Override
@@ -141,26 +186,54 @@ public class BoardState implements Copyable<BoardState> {
         copy.moveHistory.addAll(this.moveHistory); // Move is usually immutable
         copy.castlingRights = this.castlingRights.copy();
         copy.halfMoveClock = this.halfMoveClock;
+        copy.enPassantSquare = this.enPassantSquare;
         return copy;
     }
     
+    /**
+     * 64-bit Zobrist key of the position: piece placement, side to move, castling rights and the
+     * en passant file when a capture on it is actually available. The placement part is kept
+     * incrementally by the board, so this is O(1).
+     */
+    public long getZobristKey() {
+        long key = board.getBitboards().key() ^ Zobrist.castling(castlingRights.toBits());
+        if (currentTurn == Color.BLACK) {
+            key ^= Zobrist.sideToMove();
+        }
+        if (enPassantSquare != NO_SQUARE && canCaptureEnPassant()) {
+            key ^= Zobrist.enPassantFile(Bitboard.col(enPassantSquare));
+        }
+        return key;
+    }
+
+    /**
+     * Zobrist key of the pawns and kings alone, the inputs of the pawn-structure evaluation. Kept
+     * incrementally by the board like the placement key.
+     */
+    public long getPawnKey() {
+        return board.getBitboards().pawnKey();
+    }
+
+    private boolean canCaptureEnPassant() {
+        long pawns = board.getBitboards().pieces(currentTurn, PieceType.PAWN);
+        return (AttackTables.pawnAttacks(currentTurn.opposite(), enPassantSquare) & pawns) != 0;
+    }
+
+    /**
+     * Two states are equal when they describe the same position for repetition purposes. The
+     * half-move clock and move history are deliberately not part of it.
+     */
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
         if (o == null || getClass() != o.getClass()) return false;
 
-        BoardState that = (BoardState) o;
-
-        return halfMoveClock == that.halfMoveClock &&
-               currentTurn == that.currentTurn &&
-               castlingRights.equals(that.castlingRights) &&
-               board.equals(that.board) &&
-               Objects.equals(getEnPassantTarget(), that.getEnPassantTarget());
+        return getZobristKey() == ((BoardState) o).getZobristKey();
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(board, currentTurn, castlingRights, halfMoveClock, getEnPassantTarget());
+        return Long.hashCode(getZobristKey());
     }
     
 }
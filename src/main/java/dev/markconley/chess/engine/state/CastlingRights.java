@@ -6,6 +6,11 @@ import dev.markconley.chess.engine.core.Color;
 import dev.markconley.chess.engine.core.Copyable;
 
 public final class CastlingRights implements Copyable<CastlingRights> {
+	public static final int WHITE_KINGSIDE = 1;
+	public static final int WHITE_QUEENSIDE = 2;
+	public static final int BLACK_KINGSIDE = 4;
+	public static final int BLACK_QUEENSIDE = 8;
+
 	private boolean whiteKingside;
 	private boolean whiteQueenside;
 	private boolean blackKingside;
@@ -81,6 +86,20 @@ public final class CastlingRights implements Copyable<CastlingRights> {
 		}
 	}
 
+	public int toBits() {
+		return (whiteKingside ? WHITE_KINGSIDE : 0)
+				| (whiteQueenside ? WHITE_QUEENSIDE : 0)
+				| (blackKingside ? BLACK_KINGSIDE : 0)
+				| (blackQueenside ? BLACK_QUEENSIDE : 0);
+	}
+
+	public void setBits(int bits) {
+		this.whiteKingside = (bits & WHITE_KINGSIDE) != 0;
+		this.whiteQueenside = (bits & WHITE_QUEENSIDE) != 0;
+		this.blackKingside = (bits & BLACK_KINGSIDE) != 0;
+		this.blackQueenside = (bits & BLACK_QUEENSIDE) != 0;
+	}
+
 	@Override
 	public int hashCode() {
 		return Objects.hash(blackKingside, blackQueenside, whiteKingside, whiteQueenside);
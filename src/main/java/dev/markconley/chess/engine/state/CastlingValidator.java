@@ -1,90 +1,52 @@
 package dev.markconley.chess.engine.state;
 
-import dev.markconley.chess.engine.board.Board;
+import dev.markconley.chess.engine.bitboard.AttackTables;
+import dev.markconley.chess.engine.bitboard.Bitboard;
+import dev.markconley.chess.engine.bitboard.BitboardPosition;
 import dev.markconley.chess.engine.core.Color;
 import dev.markconley.chess.engine.core.Position;
-import dev.markconley.chess.engine.pieces.Piece;
 import dev.markconley.chess.engine.pieces.PieceType;
 
 public class CastlingValidator {
 
+	private static final int WHITE_KING_HOME = 4;
+	private static final int BLACK_KING_HOME = 60;
+
 	public static boolean canCastle(BoardState state, Position from, Position to, Color color) {
-		Board board = state.getBoard();
-		return hasCastlingRights(state, from, to, color) 
-				&& isRookInPlace(board, from, to, color)
-				&& isPathClear(board, from, to) 
+		BitboardPosition bitboards = state.getBoard().getBitboards();
+		int kingFrom = Bitboard.square(from);
+		int kingTo = Bitboard.square(to);
+		int rook = kingTo > kingFrom ? kingFrom + 3 : kingFrom - 4;
+		return hasCastlingRights(state, kingFrom, kingTo, color)
+				&& Bitboard.contains(bitboards.pieces(color, PieceType.ROOK), rook)
+				&& (AttackTables.between(kingFrom, rook) & bitboards.occupied()) == 0
 				&& !GameStateEvaluator.isInCheck(state, color)
-				&& isSafePath(state, color, from, to);
+				&& isSafePath(state, color, kingFrom, kingTo);
 	}
 
-	private static boolean hasCastlingRights(BoardState state, Position from, Position to, Color color) {
+	private static boolean hasCastlingRights(BoardState state, int from, int to, Color color) {
 		CastlingRights rights = state.getCastlingRights();
-		if (color == Color.WHITE) {
-			if (from.equals(Position.of("e1")) && to.equals(Position.of("g1"))) {
-				return rights.whiteCanCastleKingside();
-			}
-			if (from.equals(Position.of("e1")) && to.equals(Position.of("c1"))) {
-				return rights.whiteCanCastleQueenside();
-			}
-		} else {
-			if (from.equals(Position.of("e8")) && to.equals(Position.of("g8"))) {
-				return rights.blackCanCastleKingside();
-			}
-			if (from.equals(Position.of("e8")) && to.equals(Position.of("c8"))) {
-				return rights.blackCanCastleQueenside();
-			}
+		int home = color == Color.WHITE ? WHITE_KING_HOME : BLACK_KING_HOME;
+		if (from != home) {
+			return false;
 		}
-		return false;
-	}
-
-	private static boolean isRookInPlace(Board board, Position from, Position to, Color color) {
-		if (color == Color.WHITE) {
-			if (to.equals(Position.of("g1"))) {
-				return isRookAt(board, Position.of("h1"), Color.WHITE);
-			}
-			if (to.equals(Position.of("c1"))) {
-				return isRookAt(board, Position.of("a1"), Color.WHITE);
-			}
-		} else {
-			if (to.equals(Position.of("g8"))) {
-				return isRookAt(board, Position.of("h8"), Color.BLACK);
-			}
-			if (to.equals(Position.of("c8"))) {
-				return isRookAt(board, Position.of("a8"), Color.BLACK);
-			}
+		if (to == home + 2) {
+			return color == Color.WHITE ? rights.whiteCanCastleKingside() : rights.blackCanCastleKingside();
 		}
-		return false;
-	}
-
-	private static boolean isRookAt(Board board, Position pos, Color color) {
-		Piece piece = board.getPieceAt(pos);
-		return piece != null && piece.getColor() == color && piece.getPieceType() == PieceType.ROOK;
-	}
-
-	private static boolean isPathClear(Board board, Position from, Position to) {
-		int row = from.getRow();
-		int startCol = Math.min(from.getCol(), to.getCol());
-		int endCol = Math.max(from.getCol(), to.getCol());
-
-		for (int col = startCol + 1; col < endCol; col++) {
-			if (board.getPieceAt(Position.of(row, col)) != null) {
-				return false;
-			}
+		if (to == home - 2) {
+			return color == Color.WHITE ? rights.whiteCanCastleQueenside() : rights.blackCanCastleQueenside();
 		}
-		return true;
+		return false;
 	}
 
-	private static boolean isSafePath(BoardState state, Color color, Position from, Position to) {
-		int row = from.getRow();
-		int step = (to.getCol() > from.getCol()) ? 1 : -1;
-
-		for (int i = 0; i <= 2; i++) {
-			Position pos = new Position(row, from.getCol() + i * step);
-			if (state.isSquareAttacked(pos, color.opposite())) {
+	// The king's square, the square it crosses and its destination must not be attacked
+	private static boolean isSafePath(BoardState state, Color color, int from, int to) {
+		int step = to > from ? 1 : -1;
+		for (int square = from; square != to + step; square += step) {
+			if (state.isAttackedBy(square, color.opposite())) {
 				return false;
 			}
 		}
-		
 		return true;
 	}
 
@@ -0,0 +1,117 @@
+package dev.markconley.chess.engine.state;
+
+import dev.markconley.chess.engine.bitboard.Bitboard;
+import dev.markconley.chess.engine.board.Board;
+import dev.markconley.chess.engine.core.Color;
+import dev.markconley.chess.engine.core.Position;
+import dev.markconley.chess.engine.pieces.Piece;
+import dev.markconley.chess.engine.pieces.PieceType;
+
+/**
+ * Reads positions in Forsyth-Edwards Notation. The half-move clock and full-move number fields
+ * are optional.
+ */
+public final class FenParser {
+
+	public static final String STARTING_POSITION = "rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNR w KQkq - 0 1";
+
+	private FenParser() { } // Utility class
+
+	public static BoardState parse(String fen) {
+		String[] fields = fen.trim().split("\\s+");
+		if (fields.length < 4) {
+			throw new IllegalArgumentException("Invalid FEN: " + fen);
+		}
+
+		BoardState state = new BoardState(parsePlacement(fields[0], fen));
+		state.setCurrentTurn(parseColor(fields[1], fen));
+		state.getCastlingRights().setBits(parseCastling(fields[2], fen));
+		state.setEnPassantSquare(fields[3].equals("-") ? BoardState.NO_SQUARE : parseSquare(fields[3], fen));
+		if (fields.length > 4) {
+			state.setHalfMoveClock(parseNumber(fields[4], fen));
+		}
+		return state;
+	}
+
+	private static Board parsePlacement(String placement, String fen) {
+		String[] ranks = placement.split("/");
+		if (ranks.length != 8) {
+			throw new IllegalArgumentException("Invalid FEN: " + fen);
+		}
+
+		Board board = Board.emptyBoard();
+		for (int i = 0; i < 8; i++) {
+			int row = 7 - i;
+			int col = 0;
+			for (char c : ranks[i].toCharArray()) {
+				if (Character.isDigit(c)) {
+					col += c - '0';
+				} else if (col < 8) {
+					board.setPieceAt(Position.of(row, col++), createPiece(c, fen));
+				} else {
+					throw new IllegalArgumentException("Invalid FEN: " + fen);
+				}
+			}
+			if (col != 8) {
+				throw new IllegalArgumentException("Invalid FEN: " + fen);
+			}
+		}
+		return board;
+	}
+
+	private static Piece createPiece(char c, String fen) {
+		Color color = Character.isUpperCase(c) ? Color.WHITE : Color.BLACK;
+		PieceType type = switch (Character.toLowerCase(c)) {
+		case 'k' -> PieceType.KING;
+		case 'q' -> PieceType.QUEEN;
+		case 'r' -> PieceType.ROOK;
+		case 'b' -> PieceType.BISHOP;
+		case 'n' -> PieceType.KNIGHT;
+		case 'p' -> PieceType.PAWN;
+		default -> throw new IllegalArgumentException("Invalid FEN: " + fen);
+		};
+		return Piece.of(color, type);
+	}
+
+	private static Color parseColor(String field, String fen) {
+		return switch (field) {
+		case "w" -> Color.WHITE;
+		case "b" -> Color.BLACK;
+		default -> throw new IllegalArgumentException("Invalid FEN: " + fen);
+		};
+	}
+
+	private static int parseCastling(String field, String fen) {
+		if (field.equals("-")) {
+			return 0;
+		}
+		int bits = 0;
+		for (char c : field.toCharArray()) {
+			bits |= switch (c) {
+			case 'K' -> CastlingRights.WHITE_KINGSIDE;
+			case 'Q' -> CastlingRights.WHITE_QUEENSIDE;
+			case 'k' -> CastlingRights.BLACK_KINGSIDE;
+			case 'q' -> CastlingRights.BLACK_QUEENSIDE;
+			default -> throw new IllegalArgumentException("Invalid FEN: " + fen);
+			};
+		}
+		return bits;
+	}
+
+	private static int parseSquare(String field, String fen) {
+		if (field.length() != 2 || field.charAt(0) < 'a' || field.charAt(0) > 'h'
+				|| field.charAt(1) < '1' || field.charAt(1) > '8') {
+			throw new IllegalArgumentException("Invalid FEN: " + fen);
+		}
+		return Bitboard.square(field.charAt(1) - '1', field.charAt(0) - 'a');
+	}
+
+	private static int parseNumber(String field, String fen) {
+		try {
+			return Integer.parseInt(field);
+		} catch (NumberFormatException e) {
+			throw new IllegalArgumentException("Invalid FEN: " + fen, e);
+		}
+	}
+
+}
@@ -1,15 +1,11 @@
 package dev.markconley.chess.engine.state;
 
-import dev.markconley.chess.engine.board.Board;
+import dev.markconley.chess.engine.bitboard.BitboardPosition;
 import dev.markconley.chess.engine.core.Color;
-import dev.markconley.chess.engine.core.Position;
-import dev.markconley.chess.engine.move.AttackMapGenerator;
-import dev.markconley.chess.engine.move.MoveExecutor;
+import dev.markconley.chess.engine.move.LegalMoveGenerator;
 import dev.markconley.chess.game.GameStatus;
 
 public class GameStateEvaluator {
-	
-	private static final MoveExecutor moveExecutor = new MoveExecutor();
 
 	private GameStateEvaluator() { } // Utility class
 
@@ -29,20 +25,16 @@ public class GameStateEvaluator {
 	}
 
 	public static boolean isInCheck(BoardState state, Color color) {
-		Board board = state.getBoard();
-		Position kingPos = board.findKingPosition(color);
-		Color opponentColor = color.opposite();
-		return AttackMapGenerator.generateAttackSquares(board, opponentColor).contains(kingPos);
+		BitboardPosition bitboards = state.getBoard().getBitboards();
+		int kingSquare = bitboards.kingSquare(color);
+		if (kingSquare < 0) {
+			throw new IllegalStateException("No king found for color: " + color);
+		}
+		return state.isAttackedBy(kingSquare, color.opposite());
 	}
 
 	public static boolean hasLegalMoves(BoardState state, Color color) {
-	    return state.getActivePieces(color).stream()
-	        .flatMap(piece -> piece.getPossibleMoves(state).stream())
-	        .anyMatch(move -> {
-	            BoardState simulated = state.copy();
-	            moveExecutor.applyMove(simulated, move);
-	            return !isInCheck(simulated, color);
-	        });
+		return LegalMoveGenerator.hasLegalMoves(state, color);
 	}
 
 	public static boolean isCheckmate(BoardState state, Color color) {
@@ -0,0 +1,80 @@
+package dev.markconley.chess.engine.state;
+
+import java.util.Arrays;
+
+import dev.markconley.chess.engine.pieces.Piece;
+
+/**
+ * Undo records for {@link dev.markconley.chess.engine.move.MoveExecutor#makeMove}. Each record is
+ * the moved and captured pieces plus one packed long holding the castling rights, en passant
+ * square and half-move clock that were in effect before the move. Storage is reused, so a make/unmake pair
+ * allocates nothing once the stack has grown to the search depth.
+ */
+public final class UndoStack {
+
+	private static final int CASTLING_BITS = 4;
+	private static final int SQUARE_BITS = 7;
+	private static final int SQUARE_SHIFT = CASTLING_BITS;
+	private static final int CLOCK_SHIFT = CASTLING_BITS + SQUARE_BITS;
+
+	private Piece[] moved = new Piece[64];
+	private Piece[] captured = new Piece[64];
+	private long[] records = new long[64];
+	private int size;
+
+	public void push(Piece movedPiece, Piece capturedPiece, int castlingRights, int enPassantSquare,
+			int halfMoveClock) {
+		if (size == records.length) {
+			moved = Arrays.copyOf(moved, size * 2);
+			captured = Arrays.copyOf(captured, size * 2);
+			records = Arrays.copyOf(records, size * 2);
+		}
+		moved[size] = movedPiece;
+		captured[size] = capturedPiece;
+		records[size] = castlingRights
+				| ((long) (enPassantSquare + 1) << SQUARE_SHIFT)
+				| ((long) halfMoveClock << CLOCK_SHIFT);
+		size++;
+	}
+
+	public void pop() {
+		if (size == 0) {
+			throw new IllegalStateException("No move to undo");
+		}
+		size--;
+		moved[size] = null;
+		captured[size] = null;
+	}
+
+	public Piece movedPiece() {
+		return moved[top()];
+	}
+
+	public Piece capturedPiece() {
+		return captured[top()];
+	}
+
+	public int castlingRights() {
+		return (int) (records[top()] & ((1 << CASTLING_BITS) - 1));
+	}
+
+	public int enPassantSquare() {
+		return (int) ((records[top()] >>> SQUARE_SHIFT) & ((1 << SQUARE_BITS) - 1)) - 1;
+	}
+
+	public int halfMoveClock() {
+		return (int) (records[top()] >>> CLOCK_SHIFT);
+	}
+
+	public int size() {
+		return size;
+	}
+
+	private int top() {
+		if (size == 0) {
+			throw new IllegalStateException("No move to undo");
+		}
+		return size - 1;
+	}
+
+}
@@ -21,7 +21,7 @@ public class GameResultEvaluator {
 		if (legalMoves.isEmpty()) {
 			return GameStateEvaluator.evaluate(boardState, turn);
 		}
-		return drawRuleEngine.checkDraw(board, boardState, history.getMoves(), history.getStates());
+		return drawRuleEngine.checkDraw(boardState, history);
 	}
 
 }
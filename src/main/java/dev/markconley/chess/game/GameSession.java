@@ -28,36 +28,46 @@ public class GameSession {
                        HistoryTracker historyTracker, MoveExecutor moveExecutor) {
 		this.board = board;
         this.boardState = initialState;
+        // Check and castling tests run every turn; keep their attack tables incremental
+        initialState.enableAttackMap();
         this.moveInputHandler = moveInputHandler;
         this.moveExecutor = moveExecutor;
         this.resultEvaluator = resultEvaluator;
         this.historyTracker = historyTracker;
+        historyTracker.start(initialState);
     }
 
 	public void play(InputProvider input, OutputHandler output) {
 		GameStatus status = GameStatus.IN_PROGRESS;
 
 		while (status == GameStatus.IN_PROGRESS) {
-			output.displayBoard(board);
-
-		    List<Move> legalMoves = LegalMoveGenerator.generateLegalMoves(boardState, currentTurn);
-		    Move move = moveInputHandler.getValidMove(currentTurn, boardState, legalMoves, input, output);
-		    
-			if (move == null) {
-				output.displayMessage("No move received - resigning.");
-				status = GameStatus.RESIGNATION;
-				break;
-			}
-
-			moveExecutor.applyMove(boardState, move);
-			historyTracker.record(boardState, move);
-
-			status = resultEvaluator.evaluate(board, boardState, currentTurn, legalMoves, historyTracker);
-			currentTurn = currentTurn.opposite();
+			status = playTurn(input, output);
 		}
 
 		output.displayResult(status);
 	}
+
+	/**
+	 * Plays a single move for the side to move and returns the resulting game status.
+	 */
+	public GameStatus playTurn(InputProvider input, OutputHandler output) {
+		output.displayBoard(board);
+
+	    List<Move> legalMoves = LegalMoveGenerator.generateLegalMoves(boardState, currentTurn);
+	    Move move = moveInputHandler.getValidMove(currentTurn, boardState, legalMoves, input, output);
+	    
+		if (move == null) {
+			output.displayMessage("No move received - resigning.");
+			return GameStatus.RESIGNATION;
+		}
+
+		moveExecutor.makeMove(boardState, move);
+		historyTracker.record(boardState, move);
+
+		GameStatus status = resultEvaluator.evaluate(board, boardState, currentTurn, legalMoves, historyTracker);
+		currentTurn = currentTurn.opposite();
+		return status;
+	}
 	
 }
 
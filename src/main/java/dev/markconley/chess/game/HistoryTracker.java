@@ -4,24 +4,76 @@ import dev.markconley.chess.engine.move.Move;
 import dev.markconley.chess.engine.state.BoardState;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 
+/**
+ * Moves played so far plus the Zobrist keys of the positions reached since the last irreversible
+ * move (a capture, a pawn move or a change of castling rights), one per ply. No earlier position
+ * can recur, so they are dropped and a repetition check scans at most the fifty-move window.
+ */
 public class HistoryTracker {
 	private final List<Move> moveHistory = new ArrayList<>();
-	private final List<BoardState> stateHistory = new ArrayList<>();
+	private long[] keys = new long[256];
+	private int size;
+	private int castlingRights = -1;
 
+	/**
+	 * Starts the history at the given position so that it counts towards repetitions.
+	 */
+	public void start(BoardState initial) {
+		moveHistory.clear();
+		size = 0;
+		castlingRights = initial.getCastlingRights().toBits();
+		keys[size++] = initial.getZobristKey();
+	}
+
+	/**
+	 * Records a move together with the position it led to.
+	 */
 	public void record(BoardState state, Move move) {
 		moveHistory.add(move);
-		stateHistory.add(state.copy());
+		int rights = state.getCastlingRights().toBits();
+		if (state.getHalfMoveClock() == 0 || rights != castlingRights) {
+			size = 0;
+		}
+		castlingRights = rights;
+		if (size == keys.length) {
+			keys = Arrays.copyOf(keys, size * 2);
+		}
+		keys[size++] = state.getZobristKey();
+	}
+
+	/**
+	 * How often the latest position has occurred since the last irreversible move, itself
+	 * included; 0 before anything is recorded. Only positions with the same side to move are
+	 * compared, so this looks at every second key.
+	 */
+	public int repetitions() {
+		if (size == 0) {
+			return 0;
+		}
+		long key = keys[size - 1];
+		int count = 1;
+		for (int i = size - 3; i >= 0; i -= 2) {
+			if (keys[i] == key) {
+				count++;
+			}
+		}
+		return count;
+	}
+
+	/**
+	 * Zobrist keys of the positions since the last irreversible move, oldest first and the latest
+	 * position last. A copy.
+	 */
+	public long[] positionKeys() {
+		return Arrays.copyOf(keys, size);
 	}
 
 	public List<Move> getMoves() {
 		return Collections.unmodifiableList(moveHistory);
 	}
 
-	public List<BoardState> getStates() {
-		return Collections.unmodifiableList(stateHistory);
-	}
-	
 }
@@ -0,0 +1,62 @@
+package dev.markconley.chess.io;
+
+import java.util.List;
+import java.util.Optional;
+
+import dev.markconley.chess.engine.move.Move;
+import dev.markconley.chess.engine.move.PackedMove;
+import dev.markconley.chess.engine.search.ParallelSearch;
+import dev.markconley.chess.engine.search.SearchLimits;
+import dev.markconley.chess.engine.search.SearchResult;
+import dev.markconley.chess.engine.state.BoardState;
+import dev.markconley.chess.game.HistoryTracker;
+
+/**
+ * Computer player: answers each move request with the result of a search on the live game state,
+ * within the given limits and on the given number of threads. Given the game's history, the search
+ * knows which moves repeat earlier positions and scores them as draws.
+ */
+public class EngineInputProvider implements InputProvider {
+
+	private final BoardState state;
+	private final HistoryTracker history;
+	private final SearchLimits limits;
+	private final ParallelSearch search;
+	private SearchResult lastResult;
+
+	public EngineInputProvider(BoardState state, SearchLimits limits) {
+		this(state, limits, 1);
+	}
+
+	public EngineInputProvider(BoardState state, SearchLimits limits, int threads) {
+		this(state, null, limits, threads);
+	}
+
+	public EngineInputProvider(BoardState state, HistoryTracker history, SearchLimits limits, int threads) {
+		this.state = state;
+		this.history = history;
+		this.limits = limits;
+		this.search = new ParallelSearch(threads);
+	}
+
+	@Override
+	public Optional<Move> getMove(List<Move> legalMoves) {
+		if (legalMoves.isEmpty()) {
+			return Optional.empty();
+		}
+
+		lastResult = history == null ? search.search(state, limits)
+				: search.search(state, limits, history.positionKeys());
+		for (Move move : legalMoves) {
+			if (PackedMove.fromMove(move) == lastResult.bestMove()) {
+				return Optional.of(move);
+			}
+		}
+		return Optional.of(legalMoves.get(0));
+	}
+
+	public SearchResult getLastResult() {
+		return lastResult;
+	}
+
+}
@@ -0,0 +1,68 @@
+package dev.markconley.chess.engine.bitboard;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+import dev.markconley.chess.engine.board.Board;
+import dev.markconley.chess.engine.core.Color;
+import dev.markconley.chess.engine.core.Position;
+import dev.markconley.chess.engine.move.MoveExecutor;
+import dev.markconley.chess.engine.move.RandomGames;
+import dev.markconley.chess.engine.pieces.King;
+import dev.markconley.chess.engine.pieces.Rook;
+import dev.markconley.chess.engine.state.BoardState;
+import dev.markconley.chess.engine.state.GameStateEvaluator;
+
+class AttackMapTest {
+
+	private final MoveExecutor executor = new MoveExecutor();
+
+	@Test
+	void testMatchesRecomputedAttacksThroughMakeAndUnmake() {
+		RandomGames.play(23, 10, 100, (state, legal) -> {
+			// Enabled before the first move of each game, then kept up to date by the board
+			AttackMap attackMap = state.enableAttackMap();
+			for (int i = 0; i < legal.size(); i++) {
+				executor.makeMove(state, legal.get(i));
+				assertMatches(state.getBoard().getBitboards(), attackMap);
+				executor.unmakeMove(state, legal.get(i));
+			}
+			assertMatches(state.getBoard().getBitboards(), attackMap);
+		});
+	}
+
+	@Test
+	void testCheckDetectionUsesAttackMap() {
+		Board board = Board.emptyBoard()
+				.place("e1", new King(Color.WHITE))
+				.place("e8", new King(Color.BLACK))
+				.place("a2", new Rook(Color.BLACK));
+		BoardState state = new BoardState(board);
+		AttackMap attackMap = state.enableAttackMap();
+		int e1 = Bitboard.square(Position.of("e1"));
+
+		assertFalse(GameStateEvaluator.isInCheck(state, Color.WHITE));
+		board.setPieceAt(Position.of("a2"), null);
+		board.setPieceAt(Position.of("a1"), new Rook(Color.BLACK));
+		assertTrue(GameStateEvaluator.isInCheck(state, Color.WHITE));
+		assertEquals(1, attackMap.attackCount(e1, Color.BLACK));
+
+		board.setPieceAt(Position.of("c1"), new Rook(Color.WHITE));
+		assertFalse(GameStateEvaluator.isInCheck(state, Color.WHITE));
+		long c1AndE1 = Bitboard.bit(Bitboard.square(Position.of("c1"))) | Bitboard.bit(e1);
+		assertEquals(c1AndE1, attackMap.attackersTo(Bitboard.square(Position.of("d1"))));
+	}
+
+	private static void assertMatches(BitboardPosition bitboards, AttackMap attackMap) {
+		for (int square = 0; square < 64; square++) {
+			assertEquals(bitboards.attackersTo(square, bitboards.occupied()), attackMap.attackersTo(square));
+			for (Color color : Color.values()) {
+				assertEquals(bitboards.isSquareAttacked(square, color), attackMap.isAttacked(square, color));
+			}
+		}
+	}
+
+}
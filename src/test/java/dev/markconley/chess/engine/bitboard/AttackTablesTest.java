@@ -0,0 +1,62 @@
+package dev.markconley.chess.engine.bitboard;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import dev.markconley.chess.engine.board.Board;
+import dev.markconley.chess.engine.core.Color;
+import dev.markconley.chess.engine.core.Position;
+import dev.markconley.chess.engine.pieces.King;
+import dev.markconley.chess.engine.pieces.Pawn;
+import dev.markconley.chess.engine.pieces.Rook;
+
+class AttackTablesTest {
+
+	private static final int[][] ROOK_STEPS = { { 1, 0 }, { -1, 0 }, { 0, 1 }, { 0, -1 } };
+	private static final int[][] BISHOP_STEPS = { { 1, 1 }, { 1, -1 }, { -1, 1 }, { -1, -1 } };
+
+	@Test
+	void testMagicAttacksMatchRayWalkForRandomOccupancies() {
+		Random random = new Random(42);
+		for (int square = 0; square < 64; square++) {
+			for (int i = 0; i < 200; i++) {
+				long occupied = random.nextLong() & random.nextLong();
+				assertEquals(MagicBitboards.slowAttacks(square, occupied, ROOK_STEPS),
+						AttackTables.rookAttacks(square, occupied));
+				assertEquals(MagicBitboards.slowAttacks(square, occupied, BISHOP_STEPS),
+						AttackTables.bishopAttacks(square, occupied));
+			}
+		}
+	}
+
+	@Test
+	void testRookOnEmptyBoardAttacksFourteenSquares() {
+		int d4 = Bitboard.square(Position.of("d4"));
+		assertEquals(14, Bitboard.count(AttackTables.rookAttacks(d4, 0L)));
+		assertEquals(13, Bitboard.count(AttackTables.bishopAttacks(d4, 0L)));
+	}
+
+	@Test
+	void testBoardKeepsBitboardsInSyncWithPieces() {
+		Board board = Board.emptyBoard()
+				.place("e1", new King(Color.WHITE))
+				.place("a1", new Rook(Color.WHITE))
+				.place("e8", new King(Color.BLACK))
+				.place("a7", new Pawn(Color.BLACK));
+		BitboardPosition bitboards = board.getBitboards();
+
+		assertEquals(4, Bitboard.count(bitboards.occupied()));
+		assertTrue(bitboards.isSquareAttacked(Bitboard.square(Position.of("a7")), Color.WHITE));
+		assertFalse(bitboards.isSquareAttacked(Bitboard.square(Position.of("a8")), Color.WHITE));
+
+		board.removePieceAt(Position.of("a7"));
+		assertTrue(bitboards.isSquareAttacked(Bitboard.square(Position.of("a8")), Color.WHITE));
+		assertEquals(3, Bitboard.count(bitboards.occupied()));
+	}
+
+}
@@ -3,6 +3,8 @@ package dev.markconley.chess.engine.board;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import org.junit.jupiter.api.BeforeEach;
@@ -11,6 +13,7 @@ import org.junit.jupiter.api.Test;
 import dev.markconley.chess.engine.core.Color;
 import dev.markconley.chess.engine.core.Position;
 import dev.markconley.chess.engine.pieces.Piece;
+import dev.markconley.chess.engine.pieces.PieceType;
 import dev.markconley.chess.engine.pieces.Queen;
 
 class BoardSetupTest {
@@ -26,7 +29,7 @@ class BoardSetupTest {
 		int whiteCount = 0, blackCount = 0;
 		for (int row = 0; row < 8; row++) {
 			for (int col = 0; col < 8; col++) {
-				Piece p = board.getPieceAt(new Position(row, col));
+				Piece p = board.getPieceAt(Position.of(row, col));
 				if (p != null) {
 					if (p.getColor() == Color.WHITE) {
 						whiteCount++;
@@ -55,9 +58,8 @@ class BoardSetupTest {
 	
 	@Test
 	void testGetAndSetPieceAt() {
-	    Position position = new Position(3, 3);
+	    Position position = Position.of(3, 3);
 	    Piece queen = new Queen(Color.WHITE);
-	    queen.setPosition(position);
 
 	    board.setPieceAt(position, queen);
 	    Piece retrieved = board.getPieceAt(position);
@@ -67,5 +69,45 @@ class BoardSetupTest {
 	    assertEquals(Color.WHITE, retrieved.getColor(), "Piece color should be white");
 	    assertTrue(retrieved instanceof Queen, "Piece should be instance of Queen");
 	}
-	
+
+	@Test
+	void testPositionsAreSharedPerSquare() {
+		assertSame(Position.of("e4"), Position.of(3, 4));
+		assertSame(Position.of("e4"), Position.of(28));
+		assertEquals(28, Position.of("e4").getSquare());
+		assertThrows(IllegalArgumentException.class, () -> Position.of("i9"));
+		assertThrows(IllegalArgumentException.class, () -> Position.of(8, 0));
+	}
+
+	@Test
+	void testSquareIndexAccessMatchesPositionAccess() {
+		Piece queen = new Queen(Color.BLACK);
+		board.setPieceAt(Position.of("d4").getSquare(), queen);
+
+		assertSame(queen, board.getPieceAt(Position.of("d4")));
+		assertSame(board.getPieceAt(Position.of("e1")), board.getPieceAt(4));
+	}
+
+	@Test
+	void testPieceSetsFollowPlacementChanges() {
+		assertEquals(4, board.kingSquare(Color.WHITE));
+		assertEquals(8, board.count(Color.BLACK, PieceType.PAWN));
+
+		board.setPieceAt(Position.of("e1"), null);
+		board.setPieceAt(Position.of("e3"), Piece.of(Color.WHITE, PieceType.KING));
+		board.removePieceAt(Position.of("d7"));
+
+		assertEquals(Position.of("e3"), board.findKingPosition(Color.WHITE));
+		assertEquals(7, board.count(Color.BLACK, PieceType.PAWN));
+
+		int[] visited = new int[1];
+		board.forEachPiece(Color.BLACK, (piece, square) -> {
+			assertEquals(Color.BLACK, piece.getColor());
+			assertSame(piece, board.getPieceAt(square));
+			visited[0]++;
+		});
+		assertEquals(15, visited[0]);
+		assertEquals(15, board.getActivePieces(Color.BLACK).size());
+	}
+
 }
@@ -4,6 +4,7 @@ package dev.markconley.chess.engine.integration;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import org.junit.jupiter.api.BeforeEach;
@@ -113,7 +114,7 @@ class GameFlowIntegrationTest {
         executor.applyMove(state, castle);
 
         assertTrue(board.getPieceAt(Position.of("f1")) instanceof Rook);
-        assertEquals(Position.of("g1"), whiteKing.getPosition());
+        assertSame(whiteKing, board.getPieceAt(Position.of("g1")));
 
         // Promotion: white pawn promotes
         Piece promoPawn = board.getPieceAt(Position.of("a7"));
@@ -145,7 +146,7 @@ class GameFlowIntegrationTest {
         executor.applyMove(state, move);
 
         // No way to checkmate logic without GameResultEvaluator, so just assert square
-        assertEquals(Position.of("h5"), whiteQueen.getPosition());
+        assertSame(whiteQueen, board.getPieceAt(Position.of("h5")));
     }
 
     @Test
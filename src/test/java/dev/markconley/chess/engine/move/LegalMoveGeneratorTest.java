@@ -0,0 +1,261 @@
+package dev.markconley.chess.engine.move;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+
+import org.junit.jupiter.api.Test;
+
+import com.sun.management.ThreadMXBean;
+
+import dev.markconley.chess.engine.bitboard.Bitboard;
+import dev.markconley.chess.engine.board.Board;
+import dev.markconley.chess.engine.core.Color;
+import dev.markconley.chess.engine.core.Position;
+import dev.markconley.chess.engine.perft.PerftPosition;
+import dev.markconley.chess.engine.pieces.Bishop;
+import dev.markconley.chess.engine.pieces.King;
+import dev.markconley.chess.engine.pieces.Knight;
+import dev.markconley.chess.engine.pieces.Pawn;
+import dev.markconley.chess.engine.pieces.Piece;
+import dev.markconley.chess.engine.pieces.PieceType;
+import dev.markconley.chess.engine.pieces.Queen;
+import dev.markconley.chess.engine.pieces.Rook;
+import dev.markconley.chess.engine.state.BoardState;
+
+class LegalMoveGeneratorTest {
+
+	@Test
+	void testEnPassantThatExposesKingAlongRankIsRejected() {
+		Board board = Board.emptyBoard()
+				.place("a5", new King(Color.WHITE))
+				.place("b5", new Pawn(Color.WHITE))
+				.place("c5", new Pawn(Color.BLACK))
+				.place("h5", new Rook(Color.BLACK))
+				.place("e8", new King(Color.BLACK));
+		BoardState state = new BoardState(board);
+		state.setEnPassantSquare(square("c6"));
+
+		MoveList moves = new MoveList();
+		LegalMoveGenerator.generateLegalMoves(state, Color.WHITE, moves);
+
+		assertFalse(moves.contains(PackedMove.of(square("b5"), square("c6"), PackedMove.EN_PASSANT,
+				PieceType.PAWN, PieceType.PAWN)));
+		assertTrue(moves.contains(PackedMove.of(square("b5"), square("b6"), PackedMove.QUIET,
+				PieceType.PAWN, null)));
+	}
+
+	@Test
+	void testPinnedPieceStaysOnPinLine() {
+		Board board = Board.emptyBoard()
+				.place("e1", new King(Color.WHITE))
+				.place("e4", new Rook(Color.WHITE))
+				.place("d2", new Knight(Color.WHITE))
+				.place("e8", new Rook(Color.BLACK))
+				.place("a5", new Bishop(Color.BLACK))
+				.place("h8", new King(Color.BLACK));
+		BoardState state = new BoardState(board);
+
+		MoveList moves = new MoveList();
+		LegalMoveGenerator.generateLegalMoves(state, Color.WHITE, moves);
+
+		for (int i = 0; i < moves.size(); i++) {
+			int move = moves.get(i);
+			assertFalse(PackedMove.from(move) == square("d2"), "pinned knight moved");
+			if (PackedMove.from(move) == square("e4")) {
+				assertEquals(Bitboard.col(square("e4")), Bitboard.col(PackedMove.to(move)));
+			}
+		}
+	}
+
+	@Test
+	void testDoubleCheckAllowsOnlyKingMoves() {
+		Board board = Board.emptyBoard()
+				.place("e1", new King(Color.WHITE))
+				.place("d1", new Queen(Color.WHITE))
+				.place("e8", new Rook(Color.BLACK))
+				.place("f3", new Knight(Color.BLACK))
+				.place("h8", new King(Color.BLACK));
+		BoardState state = new BoardState(board);
+
+		MoveList moves = new MoveList();
+		LegalMoveGenerator.generateLegalMoves(state, Color.WHITE, moves);
+
+		assertFalse(moves.isEmpty());
+		for (int i = 0; i < moves.size(); i++) {
+			assertEquals(PieceType.KING, PackedMove.movedType(moves.get(i)));
+		}
+	}
+
+	@Test
+	void testMatchesMakeUnmakeFilterOverRandomGames() {
+		MoveList filtered = new MoveList();
+		RandomGames.play(7, 20, 120, (state, legal) -> {
+			Color color = state.getCurrentTurn();
+			filtered.clear();
+			MoveGenerator.generateMoves(state, color, filtered);
+			for (int i = filtered.size() - 1; i >= 0; i--) {
+				if (!LegalMoveGenerator.leavesKingSafe(state, filtered.get(i), color)) {
+					filtered.removeAt(i);
+				}
+			}
+			assertEquals(sorted(filtered), sorted(legal));
+		});
+	}
+
+	@Test
+	void testCapturesAndQuietsPartitionLegalMovesOverRandomGames() {
+		MoveList split = new MoveList();
+		RandomGames.play(17, 20, 120, (state, legal) -> {
+			Color color = state.getCurrentTurn();
+			split.clear();
+			LegalMoveGenerator.generateLegalCaptures(state, color, split);
+			int captures = split.size();
+			LegalMoveGenerator.generateLegalQuiets(state, color, split);
+			for (int i = 0; i < split.size(); i++) {
+				int move = split.get(i);
+				assertEquals(i < captures, PackedMove.isCapture(move) || PackedMove.isPromotion(move));
+			}
+			assertEquals(sorted(legal), sorted(split));
+		});
+	}
+
+	@Test
+	void testPseudoLegalCheckAgreesWithGeneratorOverRandomGames() {
+		// Moves of the same side two plies back are the interesting near misses
+		MoveList[] recent = { new MoveList(), new MoveList(), new MoveList() };
+		RandomGames.play(19, 20, 120, (state, legal) -> {
+			MoveList pseudoLegal = rotate(recent);
+			MoveGenerator.generateMoves(state, state.getCurrentTurn(), pseudoLegal);
+			for (int i = 0; i < pseudoLegal.size(); i++) {
+				assertTrue(MoveGenerator.isPseudoLegal(state, pseudoLegal.get(i)), PackedMove.toString(pseudoLegal.get(i)));
+			}
+			MoveList beforePrevious = recent[2];
+			for (int i = 0; i < beforePrevious.size(); i++) {
+				int move = beforePrevious.get(i);
+				assertEquals(pseudoLegal.contains(move), MoveGenerator.isPseudoLegal(state, move),
+						PackedMove.toString(move));
+			}
+		});
+	}
+
+	@Test
+	void testLegalityCheckAgreesWithGeneratorOverRandomGames() {
+		MoveList[] recent = { new MoveList(), new MoveList(), new MoveList() };
+		RandomGames.play(29, 20, 120, (state, legal) -> {
+			MoveList pseudoLegal = rotate(recent);
+			MoveGenerator.generateMoves(state, state.getCurrentTurn(), pseudoLegal);
+
+			long key = state.getZobristKey();
+			for (MoveList candidates : new MoveList[] { pseudoLegal, recent[2] }) {
+				for (int i = 0; i < candidates.size(); i++) {
+					int move = candidates.get(i);
+					assertEquals(legal.contains(move), MoveGenerator.isLegal(state, move), PackedMove.toString(move));
+				}
+			}
+			assertEquals(key, state.getZobristKey());
+		});
+	}
+
+	@Test
+	void testMoveObjectLegalityLeavesStateUntouched() {
+		Board board = Board.emptyBoard()
+				.place("e1", new King(Color.WHITE))
+				.place("e2", new Rook(Color.WHITE))
+				.place("e8", new Rook(Color.BLACK))
+				.place("h8", new King(Color.BLACK));
+		BoardState state = new BoardState(board);
+		long key = state.getZobristKey();
+		Piece rook = board.getPieceAt(Position.of("e2"));
+
+		assertFalse(LegalMoveGenerator.isLegal(state, MoveFactory.normal(Position.of("e2"), Position.of("d2"), rook)));
+		assertTrue(LegalMoveGenerator.isLegal(state, MoveFactory.normal(Position.of("e2"), Position.of("e5"), rook)));
+		assertTrue(LegalMoveGenerator.isLegal(state, MoveFactory.capture(Position.of("e2"), Position.of("e8"), rook,
+				board.getPieceAt(Position.of("e8")))));
+		assertFalse(LegalMoveGenerator.isLegalMove(state, MoveFactory.normal(Position.of("e2"), Position.of("e5"), rook),
+				Color.BLACK));
+
+		assertEquals(key, state.getZobristKey());
+		assertSame(rook, board.getPieceAt(Position.of("e2")));
+		assertEquals(Color.WHITE, state.getCurrentTurn());
+	}
+
+	@Test
+	void testBufferGenerationMatchesMoveListAndAllocatesNothing() {
+		ThreadMXBean threads = (ThreadMXBean) ManagementFactory.getThreadMXBean();
+		long thread = Thread.currentThread().threadId();
+		PerftPosition[] positions = PerftPosition.values();
+		BoardState[] states = new BoardState[positions.length];
+		int[] buffer = new int[MoveList.MAX_MOVES];
+		for (int i = 0; i < positions.length; i++) {
+			states[i] = positions[i].state();
+			MoveList expected = new MoveList();
+			LegalMoveGenerator.generateLegalMoves(states[i], states[i].getCurrentTurn(), expected);
+			int count = LegalMoveGenerator.generateLegalMoves(states[i], buffer);
+			assertEquals(sorted(expected), sorted(buffer, count));
+		}
+
+		// Warm up, then measure
+		long total = 0;
+		for (int round = 0; round < 2; round++) {
+			long before = threads.getThreadAllocatedBytes(thread);
+			for (int i = 0; i < 10_000; i++) {
+				BoardState state = states[i % states.length];
+				total += LegalMoveGenerator.generateLegalMoves(state, buffer);
+				total += LegalMoveGenerator.hasLegalMoves(state, state.getCurrentTurn()) ? 1 : 0;
+			}
+			long allocated = threads.getThreadAllocatedBytes(thread) - before;
+			if (round == 1) {
+				assertEquals(0, allocated, "bytes allocated by 20000 generation calls");
+			}
+		}
+		assertTrue(total > 0);
+	}
+
+	@Test
+	void testBufferGenerationRejectsUndersizedBuffer() {
+		BoardState state = PerftPosition.START.state();
+		int[] buffer = new int[MoveList.MAX_MOVES - 1];
+
+		assertThrows(IllegalArgumentException.class, () -> LegalMoveGenerator.generateLegalMoves(state, buffer));
+		assertEquals(0, buffer[0]);
+	}
+
+	/**
+	 * Shifts the pseudo-legal lists of the last plies back by one and returns the oldest, cleared,
+	 * for reuse as the current one; {@code recent[2]} then holds the moves of two plies back.
+	 */
+	private static MoveList rotate(MoveList[] recent) {
+		MoveList current = recent[2];
+		recent[2] = recent[1];
+		recent[1] = recent[0];
+		recent[0] = current;
+		current.clear();
+		return current;
+	}
+
+	private static String sorted(int[] buffer, int count) {
+		int[] values = Arrays.copyOf(buffer, count);
+		Arrays.sort(values);
+		return Arrays.toString(values);
+	}
+
+	private static String sorted(MoveList moves) {
+		int[] values = new int[moves.size()];
+		for (int i = 0; i < values.length; i++) {
+			values[i] = moves.get(i);
+		}
+		Arrays.sort(values);
+		return Arrays.toString(values);
+	}
+
+	private static int square(String algebraic) {
+		return Bitboard.square(Position.of(algebraic));
+	}
+
+}
@@ -0,0 +1,135 @@
+package dev.markconley.chess.engine.move;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import dev.markconley.chess.engine.board.Board;
+import dev.markconley.chess.engine.core.Color;
+import dev.markconley.chess.engine.core.Position;
+import dev.markconley.chess.engine.pieces.King;
+import dev.markconley.chess.engine.pieces.Pawn;
+import dev.markconley.chess.engine.pieces.Piece;
+import dev.markconley.chess.engine.pieces.Queen;
+import dev.markconley.chess.engine.pieces.Rook;
+import dev.markconley.chess.engine.state.BoardState;
+
+class MakeUnmakeMoveTest {
+
+	private final MoveExecutor executor = new MoveExecutor();
+
+	@Test
+	void testCaptureIsRestoredWithClockAndTurn() {
+		Board board = Board.emptyBoard()
+				.place("e1", new King(Color.WHITE))
+				.place("e8", new King(Color.BLACK))
+				.place("d1", new Queen(Color.WHITE))
+				.place("d7", new Pawn(Color.BLACK));
+		BoardState state = new BoardState(board);
+		state.setHalfMoveClock(12);
+
+		Piece queen = board.getPieceAt(Position.of("d1"));
+		Piece pawn = board.getPieceAt(Position.of("d7"));
+		Move capture = MoveFactory.capture(Position.of("d1"), Position.of("d7"), queen, pawn);
+
+		executor.makeMove(state, capture);
+		assertSame(queen, board.getPieceAt(Position.of("d7")));
+		assertEquals(0, state.getHalfMoveClock());
+		assertEquals(Color.BLACK, state.getCurrentTurn());
+
+		executor.unmakeMove(state, capture);
+		assertSame(queen, board.getPieceAt(Position.of("d1")));
+		assertSame(pawn, board.getPieceAt(Position.of("d7")));
+		assertEquals(12, state.getHalfMoveClock());
+		assertEquals(Color.WHITE, state.getCurrentTurn());
+		assertEquals(0, state.getUndoStack().size());
+	}
+
+	@Test
+	void testCastlingRevokesAndRestoresRights() {
+		Board board = Board.emptyBoard()
+				.place("e1", new King(Color.WHITE))
+				.place("h1", new Rook(Color.WHITE))
+				.place("a1", new Rook(Color.WHITE))
+				.place("e8", new King(Color.BLACK));
+		BoardState state = new BoardState(board);
+		Piece king = board.getPieceAt(Position.of("e1"));
+		Piece rook = board.getPieceAt(Position.of("h1"));
+		Move castle = MoveFactory.castle(Position.of("e1"), Position.of("g1"), king);
+
+		executor.makeMove(state, castle);
+		assertSame(rook, board.getPieceAt(Position.of("f1")));
+		assertFalse(state.getCastlingRights().whiteCanCastleKingside());
+		assertFalse(state.getCastlingRights().whiteCanCastleQueenside());
+
+		executor.unmakeMove(state, castle);
+		assertSame(king, board.getPieceAt(Position.of("e1")));
+		assertSame(rook, board.getPieceAt(Position.of("h1")));
+		assertNull(board.getPieceAt(Position.of("f1")));
+		assertTrue(state.getCastlingRights().whiteCanCastleKingside());
+		assertTrue(state.getCastlingRights().whiteCanCastleQueenside());
+	}
+
+	@Test
+	void testEnPassantAndPromotionRoundTrip() {
+		Board board = Board.emptyBoard()
+				.place("e1", new King(Color.WHITE))
+				.place("e8", new King(Color.BLACK))
+				.place("e5", new Pawn(Color.WHITE))
+				.place("d7", new Pawn(Color.BLACK))
+				.place("b7", new Pawn(Color.WHITE));
+		BoardState state = new BoardState(board);
+		state.setCurrentTurn(Color.BLACK);
+
+		Piece blackPawn = board.getPieceAt(Position.of("d7"));
+		Move doublePush = MoveFactory.normal(Position.of("d7"), Position.of("d5"), blackPawn);
+		executor.makeMove(state, doublePush);
+		assertEquals(Position.of("d6"), state.getEnPassantTarget());
+
+		Piece whitePawn = board.getPieceAt(Position.of("e5"));
+		Move enPassant = MoveFactory.enPassant(Position.of("e5"), Position.of("d6"), whitePawn, blackPawn);
+		executor.makeMove(state, enPassant);
+		assertNull(board.getPieceAt(Position.of("d5")));
+		assertNull(state.getEnPassantTarget());
+
+		Piece promoPawn = board.getPieceAt(Position.of("b7"));
+		Move promotion = MoveFactory.promotion(Position.of("b7"), Position.of("b8"), promoPawn, new Queen(Color.WHITE));
+		state.setCurrentTurn(Color.WHITE);
+		executor.makeMove(state, promotion);
+		assertTrue(board.getPieceAt(Position.of("b8")) instanceof Queen);
+
+		executor.unmakeMove(state, promotion);
+		assertSame(promoPawn, board.getPieceAt(Position.of("b7")));
+		assertNull(board.getPieceAt(Position.of("b8")));
+
+		executor.unmakeMove(state, enPassant);
+		assertSame(blackPawn, board.getPieceAt(Position.of("d5")));
+		assertSame(whitePawn, board.getPieceAt(Position.of("e5")));
+		assertEquals(Position.of("d6"), state.getEnPassantTarget());
+
+		executor.unmakeMove(state, doublePush);
+		assertSame(blackPawn, board.getPieceAt(Position.of("d7")));
+		assertNull(state.getEnPassantTarget());
+	}
+
+	@Test
+	void testLegalMoveGenerationLeavesStateUntouched() {
+		Board board = new Board();
+		BoardState state = new BoardState(board);
+		String before = board.toString();
+
+		List<Move> moves = LegalMoveGenerator.generateLegalMoves(state, Color.WHITE);
+
+		assertEquals(20, moves.size());
+		assertEquals(before, board.toString());
+		assertEquals(Color.WHITE, state.getCurrentTurn());
+		assertEquals(0, state.getUndoStack().size());
+	}
+
+}
@@ -48,7 +48,6 @@ class MoveCaptureTest {
         // Assert
         Piece result = board.getPieceAt(to);
         assertEquals(whitePawn, result, "Destination square should now contain the attacking white pawn");
-        assertEquals(Position.of("d6"), whitePawn.getPosition(), "Attacker's internal position should be updated");
     }
 
     @Test
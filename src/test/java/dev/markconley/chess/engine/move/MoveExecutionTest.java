@@ -2,6 +2,7 @@ package dev.markconley.chess.engine.move;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -58,7 +59,6 @@ class MoveExecutionTest {
 
         assertNull(board.getPieceAt(from), "Original square should be empty after move");
         assertEquals(pawn, board.getPieceAt(to), "Pawn should be on the destination square");
-        assertEquals(to, pawn.getPosition(), "Pawn’s internal position should be updated");
     }
     
     @Test
@@ -79,7 +79,7 @@ class MoveExecutionTest {
 
     
     @Test
-    void testShouldUpdatePiecePosition() {
+    void testShouldKeepSamePieceOnDestination() {
         Position from = Position.of("e2");
         Position to = Position.of("e4");
         Pawn pawn = new Pawn(Color.WHITE);
@@ -91,7 +91,8 @@ class MoveExecutionTest {
         Move move = MoveFactory.normal(from, to, pawn);
         executor.applyMove(state, move);
 
-        assertEquals(to, pawn.getPosition(), "Pawn’s internal position should reflect the destination");
+        assertSame(pawn, board.getPieceAt(to), "The moved pawn should stand on the destination");
+        assertNull(board.getPieceAt(from), "The origin square should be empty");
     }
 
 
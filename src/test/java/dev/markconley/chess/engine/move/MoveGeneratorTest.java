@@ -36,10 +36,9 @@ class MoveGeneratorTest {
 	    void testGenerateSlidingMoves_rookMovesInOpenBoard() {
 	        Rook rook = new Rook(Color.WHITE);
 	        Position pos = Position.of("d4");
-	        rook.setPosition(pos);
 	        board.setPieceAt(pos, rook);
 
-	        List<Move> moves = MoveGenerator.generateSlidingMoves(board, rook, Direction.ROOK_DIRECTIONS);
+	        List<Move> moves = MoveGenerator.generateSlidingMoves(board, rook, pos, Direction.ROOK_DIRECTIONS);
 
 	        // Rook on empty d4 can move in 4 directions until edges (max 14 moves)
 	        assertEquals(14, moves.size());
@@ -52,16 +51,14 @@ class MoveGeneratorTest {
 	    void testGenerateSlidingMoves_rookBlockedBySameColor() {
 	        Rook rook = new Rook(Color.WHITE);
 	        Position rookPos = Position.of("d4");
-	        rook.setPosition(rookPos);
 	        board.setPieceAt(rookPos, rook);
 
 	        // Place a friendly piece blocking rook on d6
 	        Pawn friendlyPawn = new Pawn(Color.WHITE);
 	        Position blocker = Position.of("d6");
-	        friendlyPawn.setPosition(blocker);
 	        board.setPieceAt(blocker, friendlyPawn);
 
-	        List<Move> moves = MoveGenerator.generateSlidingMoves(board, rook, Direction.ROOK_DIRECTIONS);
+	        List<Move> moves = MoveGenerator.generateSlidingMoves(board, rook, rookPos, Direction.ROOK_DIRECTIONS);
 
 	        // Rook cannot move beyond d5 (because d6 blocked by friendly pawn)
 	        assertTrue(moves.stream().noneMatch(m -> m.to().equals(Position.of("d6"))));
@@ -72,16 +69,14 @@ class MoveGeneratorTest {
 	    void testGenerateSlidingMoves_rookCanCaptureEnemy() {
 	        Rook rook = new Rook(Color.WHITE);
 	        Position rookPos = Position.of("d4");
-	        rook.setPosition(rookPos);
 	        board.setPieceAt(rookPos, rook);
 
 	        // Enemy piece on d6
 	        Pawn enemyPawn = new Pawn(Color.BLACK);
 	        Position enemyPos = Position.of("d6");
-	        enemyPawn.setPosition(enemyPos);
 	        board.setPieceAt(enemyPos, enemyPawn);
 
-	        List<Move> moves = MoveGenerator.generateSlidingMoves(board, rook, Direction.ROOK_DIRECTIONS);
+	        List<Move> moves = MoveGenerator.generateSlidingMoves(board, rook, rookPos, Direction.ROOK_DIRECTIONS);
 
 	        // Rook should have a capture move to d6
 	        boolean hasCapture = moves.stream().anyMatch(m -> m.to().equals(enemyPos) && m.capturedPiece() == enemyPawn);
@@ -95,10 +90,9 @@ class MoveGeneratorTest {
 	    void testGenerateJumpingMoves_knightBasic() {
 	        Knight knight = new Knight(Color.WHITE);
 	        Position pos = Position.of("d4");
-	        knight.setPosition(pos);
 	        board.setPieceAt(pos, knight);
 
-	        List<Move> moves = MoveGenerator.generateJumpingMoves(board, knight);
+	        List<Move> moves = MoveGenerator.generateJumpingMoves(board, knight, pos);
 
 	        // Knight has up to 8 moves, some may be off board from d4 but mostly 8 valid
 	        assertTrue(moves.size() > 0);
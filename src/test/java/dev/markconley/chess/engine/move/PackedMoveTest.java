@@ -0,0 +1,81 @@
+package dev.markconley.chess.engine.move;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+import dev.markconley.chess.engine.bitboard.Bitboard;
+import dev.markconley.chess.engine.board.Board;
+import dev.markconley.chess.engine.core.Color;
+import dev.markconley.chess.engine.core.Position;
+import dev.markconley.chess.engine.pieces.King;
+import dev.markconley.chess.engine.pieces.Pawn;
+import dev.markconley.chess.engine.pieces.Piece;
+import dev.markconley.chess.engine.pieces.PieceType;
+import dev.markconley.chess.engine.pieces.Queen;
+import dev.markconley.chess.engine.pieces.Rook;
+import dev.markconley.chess.engine.state.BoardState;
+
+class PackedMoveTest {
+
+	private final MoveExecutor executor = new MoveExecutor();
+
+	@Test
+	void testFieldsRoundTrip() {
+		int move = PackedMove.of(52, 60, PackedMove.promotionFlags(PieceType.QUEEN, true), PieceType.PAWN,
+				PieceType.ROOK);
+
+		assertEquals(52, PackedMove.from(move));
+		assertEquals(60, PackedMove.to(move));
+		assertTrue(PackedMove.isCapture(move));
+		assertTrue(PackedMove.isPromotion(move));
+		assertEquals(PieceType.QUEEN, PackedMove.promotionType(move));
+		assertEquals(PieceType.PAWN, PackedMove.movedType(move));
+		assertEquals(PieceType.ROOK, PackedMove.capturedType(move));
+		assertEquals("e7e8q", PackedMove.toString(move));
+	}
+
+	@Test
+	void testStartingPositionHasTwentyLegalMoves() {
+		BoardState state = new BoardState(new Board());
+		MoveList moves = new MoveList();
+
+		LegalMoveGenerator.generateLegalMoves(state, Color.WHITE, moves);
+
+		assertEquals(20, moves.size());
+		assertTrue(moves.contains(PackedMove.of(Bitboard.square(Position.of("e2")), Bitboard.square(Position.of("e4")),
+				PackedMove.DOUBLE_PUSH, PieceType.PAWN, null)));
+	}
+
+	@Test
+	void testPromotionCaptureMakeAndUnmake() {
+		Board board = Board.emptyBoard()
+				.place("e1", new King(Color.WHITE))
+				.place("a8", new King(Color.BLACK))
+				.place("g7", new Pawn(Color.WHITE))
+				.place("h8", new Rook(Color.BLACK));
+		BoardState state = new BoardState(board);
+		Piece pawn = board.getPieceAt(Position.of("g7"));
+		Piece rook = board.getPieceAt(Position.of("h8"));
+		long key = state.getZobristKey();
+
+		MoveList moves = new MoveList();
+		LegalMoveGenerator.generateLegalMoves(state, Color.WHITE, moves);
+		int move = PackedMove.of(Bitboard.square(Position.of("g7")), Bitboard.square(Position.of("h8")),
+				PackedMove.promotionFlags(PieceType.QUEEN, true), PieceType.PAWN, PieceType.ROOK);
+		assertTrue(moves.contains(move));
+
+		executor.makeMove(state, move);
+		assertInstanceOf(Queen.class, board.getPieceAt(Position.of("h8")));
+		assertEquals(Color.BLACK, state.getCurrentTurn());
+
+		executor.unmakeMove(state, move);
+		assertSame(pawn, board.getPieceAt(Position.of("g7")));
+		assertSame(rook, board.getPieceAt(Position.of("h8")));
+		assertEquals(key, state.getZobristKey());
+	}
+
+}
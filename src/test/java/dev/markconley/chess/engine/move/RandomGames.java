@@ -0,0 +1,103 @@
+package dev.markconley.chess.engine.move;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.Random;
+
+import dev.markconley.chess.engine.board.Board;
+import dev.markconley.chess.engine.state.BoardState;
+
+/**
+ * Plays seeded games of random legal moves from the starting position and hands every position
+ * they pass through to a check, so tests of incremental state only have to say what must hold.
+ */
+public final class RandomGames {
+
+	/**
+	 * Checks one position. {@code legal} holds its legal moves; the list is reused for the next
+	 * position, and the check must leave the state as it found it.
+	 */
+	@FunctionalInterface
+	public interface PlyCheck {
+		void check(BoardState state, MoveList legal);
+	}
+
+	/**
+	 * Sets up whatever a game needs from its starting state and returns the check for its
+	 * positions.
+	 */
+	@FunctionalInterface
+	public interface GameCheck {
+		PlyCheck start(BoardState state);
+	}
+
+	private RandomGames() {
+	}
+
+	/**
+	 * Plays up to {@code plies} moves per game, checking the start position and every position
+	 * after a move.
+	 */
+	public static void play(long seed, int games, int plies, PlyCheck check) {
+		play(seed, games, plies, state -> check);
+	}
+
+	public static void play(long seed, int games, int plies, GameCheck gameCheck) {
+		Random random = new Random(seed);
+		MoveExecutor executor = new MoveExecutor();
+		MoveList legal = new MoveList();
+		for (int game = 0; game < games; game++) {
+			BoardState state = new BoardState(new Board());
+			PlyCheck check = gameCheck.start(state);
+			for (int ply = 0;; ply++) {
+				visit(state, legal, check);
+				if (ply == plies || legal.isEmpty()) {
+					break;
+				}
+				executor.makeMove(state, legal.get(random.nextInt(legal.size())));
+			}
+		}
+	}
+
+	/**
+	 * Plays up to {@code plies} moves per game and unmakes them all again, checking the start
+	 * position and every position after a make or an unmake. Each game must end with the keys it
+	 * started with.
+	 */
+	public static void playAndUnwind(long seed, int games, int plies, PlyCheck check) {
+		playAndUnwind(seed, games, plies, state -> check);
+	}
+
+	public static void playAndUnwind(long seed, int games, int plies, GameCheck gameCheck) {
+		Random random = new Random(seed);
+		MoveExecutor executor = new MoveExecutor();
+		MoveList legal = new MoveList();
+		int[] played = new int[plies];
+		for (int game = 0; game < games; game++) {
+			BoardState state = new BoardState(new Board());
+			long key = state.getZobristKey();
+			long pawnKey = state.getPawnKey();
+			PlyCheck check = gameCheck.start(state);
+			visit(state, legal, check);
+			int count = 0;
+			while (count < plies && !legal.isEmpty()) {
+				played[count] = legal.get(random.nextInt(legal.size()));
+				executor.makeMove(state, played[count++]);
+				visit(state, legal, check);
+			}
+			while (count > 0) {
+				executor.unmakeMove(state, played[--count]);
+				visit(state, legal, check);
+			}
+			assertEquals(key, state.getZobristKey());
+			assertEquals(pawnKey, state.getPawnKey());
+		}
+	}
+
+	private static void visit(BoardState state, MoveList legal, PlyCheck check) {
+		legal.clear();
+		LegalMoveGenerator.generateLegalMoves(state, state.getCurrentTurn(), legal);
+		check.check(state, legal);
+	}
+
+}
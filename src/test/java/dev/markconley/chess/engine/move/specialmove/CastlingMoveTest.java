@@ -1,7 +1,9 @@
 package dev.markconley.chess.engine.move.specialmove;
 
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -13,8 +15,10 @@ import dev.markconley.chess.engine.move.Move;
 import dev.markconley.chess.engine.move.MoveExecutor;
 import dev.markconley.chess.engine.move.MoveFactory;
 import dev.markconley.chess.engine.pieces.King;
+import dev.markconley.chess.engine.pieces.Knight;
 import dev.markconley.chess.engine.pieces.Rook;
 import dev.markconley.chess.engine.state.BoardState;
+import dev.markconley.chess.engine.state.CastlingValidator;
 
 
 class CastlingMoveTest {
@@ -72,4 +76,26 @@ class CastlingMoveTest {
 		assertNull(board.getPieceAt(Position.of("h8")));
 	}
 
+	@Test
+	void testQueensideCastlingNeedsEmptyKnightSquare() {
+		board.place("e1", new King(Color.WHITE));
+		board.place("a1", new Rook(Color.WHITE));
+		board.place("e8", new King(Color.BLACK));
+		assertTrue(CastlingValidator.canCastle(state, Position.of("e1"), Position.of("c1"), Color.WHITE));
+
+		board.place("b1", new Knight(Color.WHITE));
+		assertFalse(CastlingValidator.canCastle(state, Position.of("e1"), Position.of("c1"), Color.WHITE));
+	}
+
+	@Test
+	void testCastlingThroughAttackedSquareIsRejected() {
+		board.place("e1", new King(Color.WHITE));
+		board.place("h1", new Rook(Color.WHITE));
+		board.place("e8", new King(Color.BLACK));
+		assertTrue(CastlingValidator.canCastle(state, Position.of("e1"), Position.of("g1"), Color.WHITE));
+
+		board.place("f8", new Rook(Color.BLACK));
+		assertFalse(CastlingValidator.canCastle(state, Position.of("e1"), Position.of("g1"), Color.WHITE));
+	}
+
 }
@@ -41,7 +41,6 @@ class PromotionMoveTest {
 
         assertInstanceOf(Queen.class, board.getPieceAt(Position.of("e8")));
         assertEquals(Color.WHITE, board.getPieceAt(Position.of("e8")).getColor());
-        assertEquals(Position.of("e8"), board.getPieceAt(Position.of("e8")).getPosition());
         assertNull(board.getPieceAt(Position.of("e7")));
     }
 
@@ -0,0 +1,99 @@
+package dev.markconley.chess.engine.nnue;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+
+import org.junit.jupiter.api.Test;
+
+import dev.markconley.chess.engine.move.PackedMove;
+import dev.markconley.chess.engine.move.RandomGames;
+import dev.markconley.chess.engine.perft.PerftPosition;
+import dev.markconley.chess.engine.search.Search;
+import dev.markconley.chess.engine.search.SearchLimits;
+import dev.markconley.chess.engine.search.SearchResult;
+import dev.markconley.chess.engine.state.BoardState;
+import dev.markconley.chess.engine.state.FenParser;
+
+class NnueAccumulatorTest {
+
+	// Not a multiple of any vector width, so the scalar tails of the SIMD kernels run too
+	private static final NnueNetwork NETWORK = NnueNetwork.random(40, 1);
+
+	@Test
+	void testIncrementalUpdatesMatchRefreshThroughMakeAndUnmake() {
+		RandomGames.playAndUnwind(9, 10, 100, start -> {
+			NnueAccumulator accumulator = new NnueAccumulator(NETWORK, start);
+			return (state, legal) -> assertEquals(freshEvaluation(state), accumulator.evaluate(state.getCurrentTurn()));
+		});
+	}
+
+	@Test
+	void testBestKernelsMatchScalarKernels() {
+		for (PerftPosition position : PerftPosition.values()) {
+			BoardState state = position.state();
+			int best = new NnueAccumulator(NETWORK, state, NnueKernels.best()).evaluate(state.getCurrentTurn());
+			int scalar = new NnueAccumulator(NETWORK, state, ScalarKernels.INSTANCE).evaluate(state.getCurrentTurn());
+			assertEquals(scalar, best, position.name());
+		}
+	}
+
+	@Test
+	void testMirroredPositionsScoreTheSameForTheSideToMove() {
+		BoardState white = FenParser.parse("r1bqk2r/pppp1ppp/2n2n2/2b1p3/2B1P3/3P1N2/PPP2PPP/RNBQK2R w KQkq - 0 1");
+		BoardState black = FenParser.parse("rnbqk2r/ppp2ppp/3p1n2/2b1p3/2B1P3/2N2N2/PPPP1PPP/R1BQK2R b KQkq - 0 1");
+
+		assertEquals(new NnueAccumulator(NETWORK, white).evaluate(white.getCurrentTurn()),
+				new NnueAccumulator(NETWORK, black).evaluate(black.getCurrentTurn()));
+	}
+
+	@Test
+	void testSaveAndLoadRoundTrip() throws IOException {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		NETWORK.save(out);
+		NnueNetwork loaded = NnueNetwork.load(new ByteArrayInputStream(out.toByteArray()));
+
+		assertEquals(NETWORK.hiddenSize(), loaded.hiddenSize());
+		assertArrayEquals(NETWORK.featureWeights, loaded.featureWeights);
+		assertArrayEquals(NETWORK.l1Weights, loaded.l1Weights);
+		BoardState state = PerftPosition.KIWIPETE.state();
+		assertEquals(new NnueAccumulator(NETWORK, state).evaluate(state.getCurrentTurn()),
+				new NnueAccumulator(loaded, state).evaluate(state.getCurrentTurn()));
+	}
+
+	@Test
+	void testRejectsTruncatedNetwork() throws IOException {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		NETWORK.save(out);
+		byte[] truncated = Arrays.copyOf(out.toByteArray(), out.size() / 2);
+
+		assertThrows(IllegalArgumentException.class, () -> NnueNetwork.load(new ByteArrayInputStream(truncated)));
+	}
+
+	@Test
+	void testSearchCanEvaluateWithTheNetwork() {
+		BoardState state = PerftPosition.MIDDLEGAME.state();
+		long key = state.getZobristKey();
+		Search search = new Search();
+		search.setNetwork(NETWORK);
+
+		SearchResult result = search.search(state, SearchLimits.depth(3));
+
+		assertNotEquals(PackedMove.NONE, result.bestMove());
+		assertTrue(result.nodes() > 0);
+		assertEquals(key, state.getZobristKey());
+	}
+
+	private static int freshEvaluation(BoardState state) {
+		BoardState copy = state.copy();
+		return new NnueAccumulator(NETWORK, copy, ScalarKernels.INSTANCE).evaluate(copy.getCurrentTurn());
+	}
+
+}
@@ -0,0 +1,46 @@
+package dev.markconley.chess.engine.perft;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.jupiter.api.Test;
+
+import dev.markconley.chess.engine.state.BoardState;
+
+class ParallelPerftTest {
+
+	@Test
+	void testMatchesReferenceCounts() {
+		ForkJoinPool pool = new ForkJoinPool(4);
+		try {
+			PerftTable table = new PerftTable(1 << 16);
+			assertEquals(PerftPosition.KIWIPETE.expectedNodes(4),
+					ParallelPerft.perft(PerftPosition.KIWIPETE.state(), 4, pool, table));
+			assertEquals(PerftPosition.ENDGAME.expectedNodes(5),
+					ParallelPerft.perft(PerftPosition.ENDGAME.state(), 5, pool, table));
+		} finally {
+			pool.shutdown();
+		}
+	}
+
+	@Test
+	void testLeavesCallerStateUntouched() {
+		BoardState state = PerftPosition.PROMOTIONS.state();
+		long key = state.getZobristKey();
+
+		assertEquals(PerftPosition.PROMOTIONS.expectedNodes(4), ParallelPerft.perft(state, 4));
+		assertEquals(key, state.getZobristKey());
+	}
+
+	@Test
+	void testTableRejectsOtherKeysAndDepths() {
+		PerftTable table = new PerftTable(1024);
+		table.store(0x1234_5678_9ABC_DEF0L, 3, 97_862);
+
+		assertEquals(97_862, table.probe(0x1234_5678_9ABC_DEF0L, 3));
+		assertEquals(PerftTable.MISS, table.probe(0x1234_5678_9ABC_DEF0L, 4));
+		assertEquals(PerftTable.MISS, table.probe(0x7234_5678_9ABC_DEF0L, 3));
+	}
+
+}
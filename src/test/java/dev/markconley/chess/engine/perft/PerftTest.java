@@ -0,0 +1,61 @@
+package dev.markconley.chess.engine.perft;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.junit.jupiter.api.Test;
+
+import dev.markconley.chess.engine.state.BoardState;
+
+class PerftTest {
+
+	@Test
+	void testStartPosition() {
+		assertNodes(PerftPosition.START, 4);
+	}
+
+	@Test
+	void testKiwipete() {
+		assertNodes(PerftPosition.KIWIPETE, 3);
+	}
+
+	@Test
+	void testEndgame() {
+		assertNodes(PerftPosition.ENDGAME, 4);
+	}
+
+	@Test
+	void testPromotions() {
+		assertNodes(PerftPosition.PROMOTIONS, 3);
+	}
+
+	@Test
+	void testTalkchess() {
+		assertNodes(PerftPosition.TALKCHESS, 3);
+	}
+
+	@Test
+	void testMiddlegame() {
+		assertNodes(PerftPosition.MIDDLEGAME, 3);
+	}
+
+	@Test
+	void testDivideSumsToPerftAndRestoresState() {
+		BoardState state = PerftPosition.KIWIPETE.state();
+		long key = state.getZobristKey();
+
+		PerftResult result = Perft.divide(state, 2);
+
+		assertEquals(48, result.divide().size());
+		assertEquals(result.nodes(), result.divide().values().stream().mapToLong(Long::longValue).sum());
+		assertEquals(PerftPosition.KIWIPETE.expectedNodes(2), result.nodes());
+		assertEquals(key, state.getZobristKey());
+	}
+
+	private static void assertNodes(PerftPosition position, int depth) {
+		BoardState state = position.state();
+		for (int d = 1; d <= depth; d++) {
+			assertEquals(position.expectedNodes(d), Perft.perft(state, d), position + " depth " + d);
+		}
+	}
+
+}
@@ -30,10 +30,8 @@ class KnightTest {
 
 	private List<Move> generateMovesForKnightAt(String square, Color color) {
 		Knight knight = new Knight(color);
-		Position pos = Position.of(square);
 		board.place(square, knight);
-		knight.setPosition(pos);
-		return knight.getPossibleMoves(state);
+		return knight.getPossibleMoves(state, Position.of(square));
 	}
 
     @Test
@@ -68,7 +66,7 @@ class KnightTest {
 		Pawn enemy = new Pawn(Color.BLACK);
 		board.place("g5", enemy);
 
-		List<Move> moves = knight.getPossibleMoves(state);
+		List<Move> moves = knight.getPossibleMoves(state, Position.of("e4"));
 		boolean foundCapture = moves.stream()
 				.anyMatch(m -> m.to().equals(Position.of("g5")) && m.capturedPiece() != null);
 
@@ -83,7 +81,7 @@ class KnightTest {
 		Pawn friendly = new Pawn(Color.WHITE);
 		board.place("f6", friendly);
 
-		List<Move> moves = knight.getPossibleMoves(state);
+		List<Move> moves = knight.getPossibleMoves(state, Position.of("e4"));
 		boolean blocked = moves.stream().anyMatch(m -> m.to().equals(Position.of("f6")));
 
 		assertFalse(blocked, "Knight should not move to square occupied by friendly piece");
@@ -100,7 +98,7 @@ class KnightTest {
             board.place(square, new Pawn(Color.WHITE));
         }
 
-        List<Move> moves = knight.getPossibleMoves(state);
+        List<Move> moves = knight.getPossibleMoves(state, Position.of("e4"));
         Set<Position> destinations = moves.stream().map(Move::to).collect(Collectors.toSet());
 
         Set<Position> expected = Set.of(
@@ -127,7 +125,7 @@ class KnightTest {
             board.place(pos.toString(), new Pawn(Color.WHITE));
         }
 
-        List<Move> moves = knight.getPossibleMoves(state);
+        List<Move> moves = knight.getPossibleMoves(state, Position.of("e4"));
         assertTrue(moves.isEmpty(), "Knight should have no legal moves when all are blocked by friendly pieces");
     }
 
@@ -141,7 +139,7 @@ class KnightTest {
 		board.place("c5", new Pawn(Color.BLACK));
 		board.place("g5", new Pawn(Color.WHITE));
 
-		List<Move> moves = knight.getPossibleMoves(state);
+		List<Move> moves = knight.getPossibleMoves(state, Position.of("e4"));
 		Set<Position> destinations = moves.stream().map(Move::to).collect(Collectors.toSet());
 
 		assertTrue(destinations.contains(Position.of("d6")));
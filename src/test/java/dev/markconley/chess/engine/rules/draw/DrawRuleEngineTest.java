@@ -0,0 +1,149 @@
+package dev.markconley.chess.engine.rules.draw;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import dev.markconley.chess.engine.board.Board;
+import dev.markconley.chess.engine.core.Color;
+import dev.markconley.chess.engine.core.Position;
+import dev.markconley.chess.engine.move.LegalMoveGenerator;
+import dev.markconley.chess.engine.move.Move;
+import dev.markconley.chess.engine.move.MoveExecutor;
+import dev.markconley.chess.engine.move.MoveFactory;
+import dev.markconley.chess.engine.pieces.Bishop;
+import dev.markconley.chess.engine.pieces.King;
+import dev.markconley.chess.engine.pieces.Knight;
+import dev.markconley.chess.engine.pieces.Pawn;
+import dev.markconley.chess.engine.pieces.Rook;
+import dev.markconley.chess.engine.state.BoardState;
+import dev.markconley.chess.game.GameStatus;
+import dev.markconley.chess.game.HistoryTracker;
+
+class DrawRuleEngineTest {
+
+	private final DrawRuleEngine engine = new DrawRuleEngine();
+	private final MoveExecutor executor = new MoveExecutor();
+
+	@Test
+	void testRepetitionCountsMatchFullHistoryScanOverLongGames() {
+		Random random = new Random(11);
+		int repeated = 0;
+		for (int game = 0; game < 10; game++) {
+			BoardState state = new BoardState(new Board());
+			HistoryTracker history = new HistoryTracker();
+			history.start(state);
+			List<Long> keys = new ArrayList<>();
+			keys.add(state.getZobristKey());
+			for (int ply = 0; ply < 300; ply++) {
+				List<Move> moves = LegalMoveGenerator.generateLegalMoves(state, state.getCurrentTurn());
+				if (moves.isEmpty()) {
+					break;
+				}
+				Move move = moves.get(random.nextInt(moves.size()));
+				executor.makeMove(state, move);
+				history.record(state, move);
+				keys.add(state.getZobristKey());
+
+				int expected = 0;
+				for (int i = keys.size() - 1; i >= 0; i -= 2) {
+					if (keys.get(i) == state.getZobristKey()) {
+						expected++;
+					}
+				}
+				assertEquals(expected, history.repetitions());
+				if (expected > 1) {
+					repeated++;
+				}
+			}
+		}
+		assertTrue(repeated > 0, "no repeated positions to compare");
+	}
+
+	@Test
+	void testIrreversibleMoveEndsRepetition() {
+		BoardState state = new BoardState(new Board());
+		HistoryTracker history = new HistoryTracker();
+		history.start(state);
+		history.record(state, play(state, "b1", "c3"));
+		history.record(state, play(state, "b8", "c6"));
+		history.record(state, play(state, "c3", "b1"));
+		history.record(state, play(state, "c6", "b8"));
+
+		history.record(state, play(state, "e2", "e4"));
+		assertEquals(1, history.repetitions());
+		assertEquals(GameStatus.IN_PROGRESS, engine.checkDraw(state, history));
+	}
+
+	@Test
+	void testFiftyMoveRule() {
+		BoardState state = new BoardState(new Board());
+		HistoryTracker history = new HistoryTracker();
+		history.start(state);
+		state.setHalfMoveClock(100);
+		assertEquals(GameStatus.FIFTY_MOVE_RULE, engine.checkDraw(state, history));
+	}
+
+	@Test
+	void testInsufficientMaterialFollowsCaptures() {
+		Board board = Board.emptyBoard()
+				.place("e1", new King(Color.WHITE))
+				.place("c3", new Knight(Color.WHITE))
+				.place("e8", new King(Color.BLACK))
+				.place("d7", new Pawn(Color.BLACK));
+		BoardState state = new BoardState(board);
+		state.setCurrentTurn(Color.BLACK);
+		HistoryTracker history = new HistoryTracker();
+		history.start(state);
+		assertEquals(GameStatus.IN_PROGRESS, engine.checkDraw(state, history));
+
+		Move capture = MoveFactory.capture(Position.of("e8"), Position.of("d7"), board.getPieceAt(Position.of("e8")),
+				board.getPieceAt(Position.of("d7")));
+		executor.makeMove(state, capture);
+		history.record(state, capture);
+		assertEquals(GameStatus.INSUFFICIENT_MATERIAL, engine.checkDraw(state, history));
+
+		executor.unmakeMove(state, capture);
+		assertEquals(GameStatus.IN_PROGRESS, engine.checkDraw(state, history));
+	}
+
+	@Test
+	void testMaterialSignatures() {
+		assertEquals(GameStatus.INSUFFICIENT_MATERIAL, check(Board.emptyBoard()
+				.place("e1", new King(Color.WHITE))
+				.place("e8", new King(Color.BLACK))));
+		assertEquals(GameStatus.INSUFFICIENT_MATERIAL, check(Board.emptyBoard()
+				.place("e1", new King(Color.WHITE))
+				.place("e8", new King(Color.BLACK))
+				.place("c8", new Bishop(Color.BLACK))));
+		assertEquals(GameStatus.IN_PROGRESS, check(Board.emptyBoard()
+				.place("e1", new King(Color.WHITE))
+				.place("b1", new Knight(Color.WHITE))
+				.place("e8", new King(Color.BLACK))
+				.place("b8", new Knight(Color.BLACK))));
+		assertEquals(GameStatus.IN_PROGRESS, check(Board.emptyBoard()
+				.place("e1", new King(Color.WHITE))
+				.place("a1", new Rook(Color.WHITE))
+				.place("e8", new King(Color.BLACK))));
+	}
+
+	private GameStatus check(Board board) {
+		BoardState state = new BoardState(board);
+		HistoryTracker history = new HistoryTracker();
+		history.start(state);
+		return engine.checkDraw(state, history);
+	}
+
+	private Move play(BoardState state, String from, String to) {
+		Position f = Position.of(from);
+		Move move = MoveFactory.normal(f, Position.of(to), state.getBoard().getPieceAt(f));
+		executor.makeMove(state, move);
+		return move;
+	}
+
+}
@@ -0,0 +1,69 @@
+package dev.markconley.chess.engine.search;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+
+import org.junit.jupiter.api.Test;
+
+import dev.markconley.chess.engine.bitboard.Bitboard;
+import dev.markconley.chess.engine.bitboard.BitboardPosition;
+import dev.markconley.chess.engine.bitboard.PieceSquareTables;
+import dev.markconley.chess.engine.board.Board;
+import dev.markconley.chess.engine.move.RandomGames;
+import dev.markconley.chess.engine.state.BoardState;
+import dev.markconley.chess.engine.state.FenParser;
+
+class EvaluatorTest {
+
+	@Test
+	void testStartingPositionIsBalanced() {
+		BoardState state = new BoardState(new Board());
+
+		assertEquals(0, Evaluator.evaluate(state));
+		assertEquals(PieceSquareTables.MAX_PHASE, state.getBoard().getBitboards().phase());
+	}
+
+	@Test
+	void testMirroredPositionsScoreTheSameForTheSideToMove() {
+		BoardState white = FenParser.parse("r1bqk2r/pppp1ppp/2n2n2/2b1p3/2B1P3/3P1N2/PPP2PPP/RNBQK2R w KQkq - 0 1");
+		BoardState black = FenParser.parse("rnbqk2r/ppp2ppp/3p1n2/2b1p3/2B1P3/2N2N2/PPPP1PPP/R1BQK2R b KQkq - 0 1");
+
+		assertEquals(Evaluator.evaluate(white), Evaluator.evaluate(black));
+	}
+
+	@Test
+	void testExtraMaterialScoresForItsOwner() {
+		BoardState state = FenParser.parse("4k3/8/8/8/8/8/8/R3K3 w - - 0 1");
+
+		assertTrue(Evaluator.evaluate(state) > 400);
+		state.switchTurn();
+		assertTrue(Evaluator.evaluate(state) < -400);
+	}
+
+	@Test
+	void testIncrementalSumsMatchRecomputationThroughMakeAndUnmake() {
+		RandomGames.playAndUnwind(5, 20, 150,
+				(state, legal) -> assertMatchesRecomputation(state.getBoard().getBitboards()));
+	}
+
+	private static void assertMatchesRecomputation(BitboardPosition bitboards) {
+		int middlegame = 0;
+		int endgame = 0;
+		int phase = 0;
+		for (int piece = 0; piece < 2 * BitboardPosition.PIECE_TYPES; piece++) {
+			long bb = bitboards.pieces(piece);
+			while (bb != 0) {
+				int square = Bitboard.lsb(bb);
+				middlegame += PieceSquareTables.middlegame(piece, square);
+				endgame += PieceSquareTables.endgame(piece, square);
+				phase += PieceSquareTables.phase(piece);
+				bb = Bitboard.popLsb(bb);
+			}
+		}
+		assertEquals(middlegame, bitboards.middlegameScore());
+		assertEquals(endgame, bitboards.endgameScore());
+		assertEquals(phase, bitboards.phase());
+	}
+
+}
@@ -0,0 +1,57 @@
+package dev.markconley.chess.engine.search;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.junit.jupiter.api.Test;
+
+import dev.markconley.chess.engine.core.Color;
+import dev.markconley.chess.engine.move.MoveList;
+import dev.markconley.chess.engine.move.PackedMove;
+import dev.markconley.chess.engine.pieces.PieceType;
+
+class MoveOrdererTest {
+
+	private static final int QUIET = PackedMove.of(1, 18, PackedMove.QUIET, PieceType.KNIGHT, null);
+	private static final int KILLER = PackedMove.of(6, 21, PackedMove.QUIET, PieceType.KNIGHT, null);
+	private static final int PAWN_TAKES_ROOK = PackedMove.of(12, 21, PackedMove.CAPTURE, PieceType.PAWN, PieceType.ROOK);
+	private static final int QUEEN_TAKES_ROOK = PackedMove.of(3, 21, PackedMove.CAPTURE, PieceType.QUEEN, PieceType.ROOK);
+	private static final int QUEEN_TAKES_PAWN = PackedMove.of(3, 11, PackedMove.CAPTURE, PieceType.QUEEN, PieceType.PAWN);
+	private static final int HASH = PackedMove.of(8, 16, PackedMove.QUIET, PieceType.PAWN, null);
+
+	@Test
+	void testBandsAndMvvLva() {
+		MoveOrderer orderer = new MoveOrderer(8);
+		MoveList killerSource = moves(QUIET, KILLER);
+		orderer.updateQuietCutoff(killerSource, 1, 2, 4, Color.WHITE, PackedMove.NONE);
+
+		MoveList moves = moves(QUIET, QUEEN_TAKES_PAWN, KILLER, QUEEN_TAKES_ROOK, HASH, PAWN_TAKES_ROOK);
+		orderer.score(moves, 2, Color.WHITE, HASH, PackedMove.NONE);
+
+		int[] expected = { HASH, PAWN_TAKES_ROOK, QUEEN_TAKES_ROOK, QUEEN_TAKES_PAWN, KILLER, QUIET };
+		for (int i = 0; i < expected.length; i++) {
+			assertEquals(PackedMove.toString(expected[i]), PackedMove.toString(orderer.next(moves, 2, i)));
+		}
+	}
+
+	@Test
+	void testCountermoveAndHistory() {
+		MoveOrderer orderer = new MoveOrderer(8);
+		int previous = PackedMove.of(52, 36, PackedMove.DOUBLE_PUSH, PieceType.PAWN, null);
+		orderer.updateQuietCutoff(moves(QUIET, KILLER), 1, 5, 6, Color.WHITE, previous);
+
+		MoveList moves = moves(QUIET, KILLER);
+		orderer.score(moves, 3, Color.WHITE, PackedMove.NONE, previous);
+
+		assertEquals(KILLER, orderer.next(moves, 3, 0));
+		assertEquals(QUIET, orderer.next(moves, 3, 1));
+	}
+
+	private static MoveList moves(int... values) {
+		MoveList moves = new MoveList();
+		for (int move : values) {
+			moves.add(move);
+		}
+		return moves;
+	}
+
+}
@@ -0,0 +1,97 @@
+package dev.markconley.chess.engine.search;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import dev.markconley.chess.engine.move.LegalMoveGenerator;
+import dev.markconley.chess.engine.move.MoveList;
+import dev.markconley.chess.engine.move.PackedMove;
+import dev.markconley.chess.engine.move.RandomGames;
+import dev.markconley.chess.engine.perft.PerftPosition;
+import dev.markconley.chess.engine.state.BoardState;
+
+class MovePickerTest {
+
+	@Test
+	void testLegalHashMoveComesFirstWithNothingGenerated() {
+		BoardState state = PerftPosition.KIWIPETE.state();
+		MoveList legal = legalMoves(state);
+		int hashMove = legal.get(legal.size() - 1);
+		MovePicker picker = new MovePicker(new MoveOrderer(4));
+
+		picker.reset(state, 0, hashMove, PackedMove.NONE);
+
+		assertEquals(hashMove, picker.next());
+		assertTrue(picker.moves().isEmpty());
+	}
+
+	@Test
+	void testCapturesComeBeforeQuietMoves() {
+		BoardState state = PerftPosition.KIWIPETE.state();
+		MovePicker picker = new MovePicker(new MoveOrderer(4));
+		picker.reset(state, 0, PackedMove.NONE, PackedMove.NONE);
+
+		boolean seenQuiet = false;
+		int move;
+		while ((move = picker.next()) != PackedMove.NONE) {
+			if (MoveOrderer.isQuiet(move)) {
+				seenQuiet = true;
+			} else {
+				assertTrue(!seenQuiet, "capture after a quiet move: " + PackedMove.toString(move));
+			}
+		}
+		assertTrue(seenQuiet);
+	}
+
+	@Test
+	void testHandsOutEveryLegalMoveExactlyOnceOverRandomGames() {
+		Random random = new Random(13);
+		MoveOrderer orderer = new MoveOrderer(4);
+		MovePicker picker = new MovePicker(orderer);
+		MoveList killerSource = new MoveList();
+		MoveList picked = new MoveList();
+		int[] staleMove = { PackedMove.NONE };
+		RandomGames.play(13, 20, 120, (state, legal) -> {
+			if (legal.isEmpty()) {
+				return;
+			}
+			// Killers and hash moves from other positions must be vetted, legal ones used once
+			int hashMove = random.nextBoolean() ? legal.get(random.nextInt(legal.size())) : staleMove[0];
+			killerSource.clear();
+			killerSource.add(legal.get(random.nextInt(legal.size())));
+			killerSource.add(staleMove[0]);
+			orderer.updateQuietCutoff(killerSource, random.nextInt(2), 1, 3, state.getCurrentTurn(), PackedMove.NONE);
+
+			picker.reset(state, 1, hashMove, PackedMove.NONE);
+			picked.clear();
+			int move;
+			while ((move = picker.next()) != PackedMove.NONE) {
+				picked.add(move);
+			}
+			assertEquals(sorted(legal), sorted(picked));
+
+			staleMove[0] = legal.get(random.nextInt(legal.size()));
+		});
+	}
+
+	private static MoveList legalMoves(BoardState state) {
+		MoveList moves = new MoveList();
+		LegalMoveGenerator.generateLegalMoves(state, state.getCurrentTurn(), moves);
+		return moves;
+	}
+
+	private static String sorted(MoveList moves) {
+		int[] values = new int[moves.size()];
+		for (int i = 0; i < values.length; i++) {
+			values[i] = moves.get(i);
+		}
+		Arrays.sort(values);
+		return Arrays.toString(values);
+	}
+
+}
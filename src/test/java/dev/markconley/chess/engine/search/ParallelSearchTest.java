@@ -0,0 +1,71 @@
+package dev.markconley.chess.engine.search;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.jupiter.api.Test;
+
+import dev.markconley.chess.engine.move.PackedMove;
+import dev.markconley.chess.engine.perft.PerftPosition;
+import dev.markconley.chess.engine.state.BoardState;
+import dev.markconley.chess.engine.state.FenParser;
+
+class ParallelSearchTest {
+
+	@Test
+	void testHelpersAgreeOnForcedMate() {
+		BoardState state = FenParser.parse("6k1/5ppp/8/8/8/8/5PPP/R5K1 w - - 0 1");
+
+		try (ParallelSearch search = new ParallelSearch(4)) {
+			SearchResult result = search.search(state, SearchLimits.depth(4));
+
+			assertEquals("a1a8", PackedMove.toString(result.bestMove()));
+			assertEquals(Search.MATE - 1, result.score());
+			assertEquals(result.bestMove(), result.principalVariation()[0]);
+		}
+	}
+
+	@Test
+	void testStopEndsUnboundedSearchPromptly() throws Exception {
+		BoardState state = FenParser.parse(FenParser.STARTING_POSITION);
+		long key = state.getZobristKey();
+
+		TranspositionTable table = new TranspositionTable(Search.DEFAULT_TABLE_MB);
+
+		try (ParallelSearch search = new ParallelSearch(3, table)) {
+			CompletableFuture<SearchResult> running = CompletableFuture
+					.supplyAsync(() -> search.search(state, SearchLimits.depth(SearchLimits.MAX_DEPTH)));
+			// The root is stored only once an iteration completes, so the search is running by then
+			while (table.probe(key) == TranspositionTable.MISS) {
+				assertFalse(running.isDone());
+				Thread.onSpinWait();
+			}
+			search.stop();
+
+			SearchResult result = running.get(5, TimeUnit.SECONDS);
+			assertTrue(result.depth() >= 1);
+			assertTrue(result.bestMove() != PackedMove.NONE);
+		}
+		assertEquals(key, state.getZobristKey());
+	}
+
+	@Test
+	void testIterationCutShortIsNotReported() {
+		BoardState state = PerftPosition.KIWIPETE.state();
+		// Helper 1 starts at depth 2 and sees the raised signal at its first check, long before depth 2 ends
+		Search helper = new Search(new TranspositionTable(1), new AtomicBoolean(true), 1);
+
+		SearchResult result = helper.search(state, SearchLimits.depth(SearchLimits.MAX_DEPTH));
+
+		assertEquals(0, result.depth());
+		assertEquals(0, result.score());
+		assertTrue(result.bestMove() != PackedMove.NONE);
+		assertEquals(result.bestMove(), result.principalVariation()[0]);
+	}
+
+}
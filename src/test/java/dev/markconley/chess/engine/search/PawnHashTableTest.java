@@ -0,0 +1,73 @@
+package dev.markconley.chess.engine.search;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+
+import org.junit.jupiter.api.Test;
+
+import dev.markconley.chess.engine.bitboard.Bitboard;
+import dev.markconley.chess.engine.bitboard.BitboardPosition;
+import dev.markconley.chess.engine.core.Color;
+import dev.markconley.chess.engine.core.Position;
+import dev.markconley.chess.engine.move.RandomGames;
+import dev.markconley.chess.engine.perft.PerftPosition;
+import dev.markconley.chess.engine.state.FenParser;
+
+class PawnHashTableTest {
+
+	@Test
+	void testPackedScoresRoundTrip() {
+		int score = PawnStructure.score(-37, 120) - PawnStructure.score(15, -200);
+
+		assertEquals(-52, PawnStructure.middlegame(score));
+		assertEquals(320, PawnStructure.endgame(score));
+	}
+
+	@Test
+	void testLonePawnIsPassedAndIsolated() {
+		BitboardPosition bitboards = FenParser.parse("4k3/8/8/8/8/8/P7/4K3 w - - 0 1").getBoard().getBitboards();
+
+		int score = PawnStructure.evaluate(bitboards);
+
+		assertEquals(-5, PawnStructure.middlegame(score));
+		assertEquals(-5, PawnStructure.endgame(score));
+		assertEquals(Bitboard.bit(Bitboard.square(Position.of("a2"))), PawnStructure.passedPawns(bitboards, Color.WHITE));
+	}
+
+	@Test
+	void testBlockedPawnIsNotPassed() {
+		BitboardPosition bitboards = FenParser.parse("4k3/8/1p6/8/P7/8/8/4K3 w - - 0 1").getBoard().getBitboards();
+
+		assertEquals(0L, PawnStructure.passedPawns(bitboards, Color.WHITE));
+		assertEquals(0L, PawnStructure.passedPawns(bitboards, Color.BLACK));
+	}
+
+	@Test
+	void testCachedResultsMatchDirectEvaluationThroughMakeAndUnmake() {
+		PawnHashTable table = new PawnHashTable(64);
+		RandomGames.playAndUnwind(3, 20, 120, (state, legal) -> {
+			BitboardPosition bitboards = state.getBoard().getBitboards();
+			assertEquals(PawnStructure.evaluate(bitboards), table.score(bitboards));
+			assertEquals(PawnStructure.passedPawns(bitboards, Color.BLACK), table.passedPawns(bitboards, Color.BLACK));
+		});
+		assertNotEquals(0L, table.hits());
+	}
+
+	@Test
+	void testSearchMostlyHitsThePawnTable() {
+		Search search = new Search();
+
+		search.search(PerftPosition.MIDDLEGAME.state(), SearchLimits.depth(5));
+
+		assertTrue(search.pawnTable().hitRate() > 0.95, "hit rate " + search.pawnTable().hitRate());
+	}
+
+	@Test
+	void testRejectsSizeThatIsNotAPowerOfTwo() {
+		assertThrows(IllegalArgumentException.class, () -> new PawnHashTable(1000));
+	}
+
+}
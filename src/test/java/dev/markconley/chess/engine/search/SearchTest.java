@@ -0,0 +1,104 @@
+package dev.markconley.chess.engine.search;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.Test;
+
+import dev.markconley.chess.engine.core.Position;
+import dev.markconley.chess.engine.move.LegalMoveGenerator;
+import dev.markconley.chess.engine.move.Move;
+import dev.markconley.chess.engine.move.MoveExecutor;
+import dev.markconley.chess.engine.move.MoveFactory;
+import dev.markconley.chess.engine.move.PackedMove;
+import dev.markconley.chess.engine.state.BoardState;
+import dev.markconley.chess.engine.state.FenParser;
+import dev.markconley.chess.game.HistoryTracker;
+import dev.markconley.chess.io.EngineInputProvider;
+
+class SearchTest {
+
+	private final MoveExecutor executor = new MoveExecutor();
+
+	@Test
+	void testFindsBackRankMate() {
+		BoardState state = FenParser.parse("6k1/5ppp/8/8/8/8/5PPP/R5K1 w - - 0 1");
+
+		SearchResult result = new Search().search(state, SearchLimits.depth(3));
+
+		assertEquals("a1a8", PackedMove.toString(result.bestMove()));
+		assertEquals(Search.MATE - 1, result.score());
+	}
+
+	@Test
+	void testWinsHangingQueen() {
+		BoardState state = FenParser.parse("4k3/8/8/3q4/8/8/3R4/4K3 w - - 0 1");
+
+		SearchResult result = new Search().search(state, SearchLimits.depth(2));
+
+		assertEquals("d2d5", PackedMove.toString(result.bestMove()));
+	}
+
+	@Test
+	void testQuiescenceSeesRecaptureBeyondHorizon() {
+		BoardState state = FenParser.parse("4k3/8/2p5/3p4/8/8/3Q4/4K3 w - - 0 1");
+
+		SearchResult result = new Search().search(state, SearchLimits.depth(1));
+
+		assertTrue(!"d2d5".equals(PackedMove.toString(result.bestMove())));
+		assertTrue(result.score() > 0);
+	}
+
+	@Test
+	void testRespectsNodeBudgetAndLeavesStateUntouched() {
+		BoardState state = FenParser.parse(FenParser.STARTING_POSITION);
+		long key = state.getZobristKey();
+
+		SearchResult result = new Search().search(state, SearchLimits.nodes(20_000));
+
+		assertTrue(result.depth() >= 1);
+		assertTrue(result.nodes() < 25_000);
+		assertEquals(key, state.getZobristKey());
+	}
+
+	@Test
+	void testEngineInputProviderPicksLegalMove() {
+		BoardState state = FenParser.parse(FenParser.STARTING_POSITION);
+		List<Move> legalMoves = LegalMoveGenerator.generateLegalMoves(state, state.getCurrentTurn());
+
+		Optional<Move> move = new EngineInputProvider(state, SearchLimits.depth(3)).getMove(legalMoves);
+
+		assertTrue(move.isPresent());
+		assertTrue(legalMoves.contains(move.get()));
+	}
+
+	@Test
+	void testLosingSideRepeatsIntoADraw() {
+		BoardState state = FenParser.parse("4k3/8/8/8/8/8/8/3QK3 b - - 0 1");
+		HistoryTracker history = new HistoryTracker();
+		history.start(state);
+		history.record(state, play(state, "e8", "f8"));
+		history.record(state, play(state, "d1", "d2"));
+		history.record(state, play(state, "f8", "e8"));
+		history.record(state, play(state, "d2", "d1"));
+		List<Move> legalMoves = LegalMoveGenerator.generateLegalMoves(state, state.getCurrentTurn());
+
+		EngineInputProvider engine = new EngineInputProvider(state, history, SearchLimits.depth(3), 1);
+		Optional<Move> move = engine.getMove(legalMoves);
+
+		assertEquals("e8f8", PackedMove.toString(PackedMove.fromMove(move.get())));
+		assertEquals(Search.DRAW, engine.getLastResult().score());
+		assertTrue(new Search().search(state, SearchLimits.depth(3)).score() < -500);
+	}
+
+	private Move play(BoardState state, String from, String to) {
+		Position f = Position.of(from);
+		Move move = MoveFactory.normal(f, Position.of(to), state.getBoard().getPieceAt(f));
+		executor.makeMove(state, move);
+		return move;
+	}
+
+}
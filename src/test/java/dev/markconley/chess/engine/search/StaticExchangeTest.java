@@ -0,0 +1,88 @@
+package dev.markconley.chess.engine.search;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+import dev.markconley.chess.engine.move.LegalMoveGenerator;
+import dev.markconley.chess.engine.move.MoveList;
+import dev.markconley.chess.engine.move.PackedMove;
+import dev.markconley.chess.engine.move.RandomGames;
+import dev.markconley.chess.engine.state.BoardState;
+import dev.markconley.chess.engine.state.FenParser;
+
+class StaticExchangeTest {
+
+	@Test
+	void testPawnTakesDefendedKnight() {
+		BoardState state = FenParser.parse("4k3/8/5p2/4n3/3P4/8/8/4K3 w - - 0 1");
+		int move = move(state, "d4e5");
+
+		assertEquals(220, StaticExchange.evaluate(state, move));
+		assertTrue(StaticExchange.isAtLeast(state, move, 0));
+		assertTrue(StaticExchange.isAtLeast(state, move, 220));
+		assertFalse(StaticExchange.isAtLeast(state, move, 221));
+	}
+
+	@Test
+	void testQueenTakesPawnDefendedByPawn() {
+		BoardState state = FenParser.parse("4k3/8/2p5/3p4/8/8/3Q4/4K3 w - - 0 1");
+		int move = move(state, "d2d5");
+
+		assertEquals(-800, StaticExchange.evaluate(state, move));
+		assertFalse(StaticExchange.isAtLeast(state, move, 0));
+	}
+
+	@Test
+	void testSlidersBehindTheExchangeJoinIn() {
+		BoardState doubled = FenParser.parse("4k3/3r4/8/3p4/8/8/3R4/3RK3 w - - 0 1");
+		BoardState bothDoubled = FenParser.parse("3rk3/3r4/8/3p4/8/8/3R4/3RK3 w - - 0 1");
+
+		assertEquals(100, StaticExchange.evaluate(doubled, move(doubled, "d2d5")));
+		assertTrue(StaticExchange.isAtLeast(doubled, move(doubled, "d2d5"), 100));
+		assertEquals(-400, StaticExchange.evaluate(bothDoubled, move(bothDoubled, "d2d5")));
+		assertFalse(StaticExchange.isAtLeast(bothDoubled, move(bothDoubled, "d2d5"), 0));
+	}
+
+	@Test
+	void testKingCannotRecaptureOnDefendedSquare() {
+		BoardState undefended = FenParser.parse("8/8/8/3k4/3p4/8/8/3RK3 w - - 0 1");
+		BoardState defended = FenParser.parse("8/8/8/3k4/3p4/8/5B2/3RK3 w - - 0 1");
+
+		assertEquals(-400, StaticExchange.evaluate(undefended, move(undefended, "d1d4")));
+		assertEquals(100, StaticExchange.evaluate(defended, move(defended, "d1d4")));
+		assertTrue(StaticExchange.isAtLeast(defended, move(defended, "d1d4"), 100));
+	}
+
+	@Test
+	void testThresholdTestAgreesWithExactValueOverRandomGames() {
+		int[] thresholds = { -500, -100, 0, 1, 100, 250 };
+		RandomGames.play(11, 20, 120, (state, legal) -> {
+			for (int i = 0; i < legal.size(); i++) {
+				int move = legal.get(i);
+				if (PackedMove.isCastling(move) || PackedMove.isEnPassant(move) || PackedMove.isPromotion(move)) {
+					continue;
+				}
+				int value = StaticExchange.evaluate(state, move);
+				for (int threshold : thresholds) {
+					assertEquals(value >= threshold, StaticExchange.isAtLeast(state, move, threshold),
+							PackedMove.toString(move) + " at " + threshold);
+				}
+			}
+		});
+	}
+
+	private static int move(BoardState state, String uci) {
+		MoveList moves = new MoveList();
+		LegalMoveGenerator.generateLegalMoves(state, state.getCurrentTurn(), moves);
+		for (int i = 0; i < moves.size(); i++) {
+			if (PackedMove.toString(moves.get(i)).equals(uci)) {
+				return moves.get(i);
+			}
+		}
+		throw new IllegalArgumentException("Not a legal move: " + uci);
+	}
+
+}
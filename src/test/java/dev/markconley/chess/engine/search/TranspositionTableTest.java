@@ -0,0 +1,60 @@
+package dev.markconley.chess.engine.search;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+import org.junit.jupiter.api.Test;
+
+import dev.markconley.chess.engine.move.PackedMove;
+import dev.markconley.chess.engine.pieces.PieceType;
+
+class TranspositionTableTest {
+
+	private static final int MOVE = PackedMove.of(52, 61, PackedMove.promotionFlags(PieceType.QUEEN, true),
+			PieceType.PAWN, PieceType.ROOK);
+
+	@Test
+	void testEntryRoundTrip() {
+		TranspositionTable table = new TranspositionTable(1);
+		table.store(0xCAFEBABE_12345678L, MOVE, -Search.MATE + 3, 17, TranspositionTable.BOUND_UPPER);
+
+		long entry = table.probe(0xCAFEBABE_12345678L);
+		assertEquals(MOVE, TranspositionTable.move(entry));
+		assertEquals(-Search.MATE + 3, TranspositionTable.score(entry));
+		assertEquals(17, TranspositionTable.depth(entry));
+		assertEquals(TranspositionTable.BOUND_UPPER, TranspositionTable.bound(entry));
+	}
+
+	@Test
+	void testOtherKeyInSameBucketMisses() {
+		TranspositionTable table = new TranspositionTable(1);
+		table.store(0x1111_0000_0000_0040L, MOVE, 25, 4, TranspositionTable.BOUND_EXACT);
+
+		assertEquals(TranspositionTable.MISS, table.probe(0x2222_0000_0000_0040L));
+	}
+
+	@Test
+	void testFullBucketReplacesShallowestEntry() {
+		TranspositionTable table = new TranspositionTable(1);
+		for (int i = 0; i < 4; i++) {
+			table.store(((long) (i + 1) << 40) | 0x80, MOVE, 0, 10 + i, TranspositionTable.BOUND_EXACT);
+		}
+		table.store(5L << 40 | 0x80, MOVE, 0, 1, TranspositionTable.BOUND_EXACT);
+
+		assertEquals(TranspositionTable.MISS, table.probe(1L << 40 | 0x80));
+		assertNotEquals(TranspositionTable.MISS, table.probe(4L << 40 | 0x80));
+		assertNotEquals(TranspositionTable.MISS, table.probe(5L << 40 | 0x80));
+	}
+
+	@Test
+	void testStoreWithoutMoveKeepsPreviousMove() {
+		TranspositionTable table = new TranspositionTable(1);
+		table.store(42L, MOVE, 10, 3, TranspositionTable.BOUND_LOWER);
+		table.store(42L, PackedMove.NONE, 5, 4, TranspositionTable.BOUND_UPPER);
+
+		long entry = table.probe(42L);
+		assertEquals(MOVE, TranspositionTable.move(entry));
+		assertEquals(4, TranspositionTable.depth(entry));
+	}
+
+}
@@ -0,0 +1,101 @@
+package dev.markconley.chess.engine.state;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import dev.markconley.chess.engine.board.Board;
+import dev.markconley.chess.engine.core.Color;
+import dev.markconley.chess.engine.core.Position;
+import dev.markconley.chess.engine.move.Move;
+import dev.markconley.chess.engine.move.MoveExecutor;
+import dev.markconley.chess.engine.move.MoveFactory;
+import dev.markconley.chess.engine.rules.draw.ThreefoldRepetitionRule;
+import dev.markconley.chess.game.GameStatus;
+import dev.markconley.chess.game.HistoryTracker;
+
+class ZobristKeyTest {
+
+	private Board board;
+	private BoardState state;
+	private MoveExecutor executor;
+
+	@BeforeEach
+	void setUp() {
+		board = new Board();
+		state = new BoardState(board);
+		executor = new MoveExecutor();
+	}
+
+	@Test
+	void testTranspositionsHaveEqualKeys() {
+		BoardState other = new BoardState(new Board());
+		MoveExecutor otherExecutor = new MoveExecutor();
+
+		// 1. Nf3 Nf6 2. Nc3 versus 1. Nc3 Nf6 2. Nf3
+		play(executor, state, "g1", "f3");
+		play(executor, state, "g8", "f6");
+		play(executor, state, "b1", "c3");
+
+		play(otherExecutor, other, "b1", "c3");
+		play(otherExecutor, other, "g8", "f6");
+		play(otherExecutor, other, "g1", "f3");
+
+		assertEquals(state.getZobristKey(), other.getZobristKey());
+		assertEquals(state, other);
+		assertEquals(state.hashCode(), other.hashCode());
+	}
+
+	@Test
+	void testUnmakeRestoresKey() {
+		long start = state.getZobristKey();
+		Move move = MoveFactory.normal(Position.of("e2"), Position.of("e4"), board.getPieceAt(Position.of("e2")));
+
+		executor.makeMove(state, move);
+		assertNotEquals(start, state.getZobristKey());
+
+		executor.unmakeMove(state, move);
+		assertEquals(start, state.getZobristKey());
+	}
+
+	@Test
+	void testSideToMoveAndCastlingRightsAreHashed() {
+		BoardState blackToMove = state.copy();
+		blackToMove.switchTurn();
+		assertNotEquals(state.getZobristKey(), blackToMove.getZobristKey());
+
+		BoardState noCastling = state.copy();
+		noCastling.getCastlingRights().disableKingside(Color.WHITE);
+		assertNotEquals(state.getZobristKey(), noCastling.getZobristKey());
+	}
+
+	@Test
+	void testThreefoldRepetitionIsDetected() {
+		HistoryTracker history = new HistoryTracker();
+		history.start(state);
+		for (int i = 0; i < 2; i++) {
+			history.record(state, play(executor, state, "g1", "f3"));
+			history.record(state, play(executor, state, "g8", "f6"));
+			history.record(state, play(executor, state, "f3", "g1"));
+			history.record(state, play(executor, state, "f6", "g8"));
+		}
+
+		Optional<GameStatus> result = new ThreefoldRepetitionRule().check(state, history);
+		assertTrue(result.isPresent());
+		assertEquals(GameStatus.THREEFOLD_REPETITION, result.get());
+	}
+
+	private Move play(MoveExecutor executor, BoardState target, String from, String to) {
+		Position f = Position.of(from);
+		Position t = Position.of(to);
+		Move move = MoveFactory.normal(f, t, target.getBoard().getPieceAt(f));
+		executor.makeMove(target, move);
+		return move;
+	}
+
+}